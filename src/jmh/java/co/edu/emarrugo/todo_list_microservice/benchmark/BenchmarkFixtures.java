@@ -0,0 +1,123 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.controller.TodoListController;
+import co.edu.emarrugo.todo_list_microservice.handler.ConditionalResponses;
+import co.edu.emarrugo.todo_list_microservice.handler.Handler;
+import co.edu.emarrugo.todo_list_microservice.handler.LoadSheddingFilter;
+import co.edu.emarrugo.todo_list_microservice.handler.ReadYourWritesFilter;
+import co.edu.emarrugo.todo_list_microservice.handler.WireFormats;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReplicaProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.WriteBehindProperties;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.json.EntityJsonModule;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryChangeFeed;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTaskRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTodoListRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTodoListStatsRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTransactionManager;
+import co.edu.emarrugo.todo_list_microservice.service.BatchLoader;
+import co.edu.emarrugo.todo_list_microservice.service.EntityCache;
+import co.edu.emarrugo.todo_list_microservice.service.ResponseCache;
+import co.edu.emarrugo.todo_list_microservice.service.ServiceMetrics;
+import co.edu.emarrugo.todo_list_microservice.service.SingleFlight;
+import co.edu.emarrugo.todo_list_microservice.service.TaskWriteBehind;
+import co.edu.emarrugo.todo_list_microservice.service.TodoListService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Datos y objetos compartidos por los benchmarks: el servicio real sobre repositorios en memoria.
+ */
+final class BenchmarkFixtures {
+    // Sin caché de respuestas: los benchmarks del handler miden la serialización en cada petición
+    private static final ResponseCache RESPONSE_CACHE = ResponseCache.disabled();
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().modulesToInstall(new EntityJsonModule()).build();
+    }
+
+    // Serialización reflexiva de Jackson, como antes de los serializadores explícitos
+    static ObjectMapper reflectiveObjectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static TodoListEntity todoListWithTasks(int taskCount) {
+        List<TaskEntity> tasks = new ArrayList<>(taskCount);
+        for (int i = 1; i <= taskCount; i++) {
+            tasks.add(task(i, 1));
+        }
+        return TodoListEntity.builder()
+                .id(1)
+                .name("Lista de benchmark")
+                .tasks(tasks)
+                .build();
+    }
+
+    static TaskEntity task(Integer id, Integer todoListId) {
+        return TaskEntity.builder()
+                .id(id)
+                .name("Tarea " + id)
+                .description("Descripción de la tarea " + id)
+                .completed(id % 3 == 0)
+                .deadline(LocalDateTime.of(2030, 1, 1, 12, 0).plusHours(id))
+                .todoListId(todoListId)
+                .build();
+    }
+
+    static final class InMemoryBackend {
+        final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+        final InMemoryTodoListRepository todoListRepository = new InMemoryTodoListRepository(taskRepository);
+        final InMemoryTodoListStatsRepository todoListStatsRepository =
+                new InMemoryTodoListStatsRepository(todoListRepository, taskRepository);
+        final TodoListService service = new TodoListService(
+                todoListRepository,
+                taskRepository,
+                todoListStatsRepository,
+                new InMemoryChangeFeed(),
+                EntityCache.disabled("todoLists"),
+                EntityCache.disabled("tasks"),
+                BatchLoader.disabled(todoListRepository::findById),
+                BatchLoader.disabled(taskRepository::findById),
+                new ServiceMetrics(new SimpleMeterRegistry()),
+                new SingleFlight(new SimpleMeterRegistry()),
+                new TaskWriteBehind(new WriteBehindProperties(false, Duration.ofMillis(200), 500, 10000),
+                        TransactionalOperator.create(new InMemoryTransactionManager()), new SimpleMeterRegistry()),
+                RESPONSE_CACHE);
+        final WireFormats wireFormats = new WireFormats(objectMapper());
+        final Handler handler = new Handler(service, new ConditionalResponses(wireFormats, RESPONSE_CACHE),
+                wireFormats);
+
+        InMemoryBackend seed(int todoLists, int tasksPerList) {
+            for (int list = 0; list < todoLists; list++) {
+                TodoListEntity saved = todoListRepository.save(TodoListEntity.builder().name("Lista " + list).build())
+                        .block();
+                for (int i = 1; i <= tasksPerList; i++) {
+                    TaskEntity task = task(i, saved.getId());
+                    task.setId(null);
+                    taskRepository.save(task).block();
+                }
+            }
+            return this;
+        }
+
+        WebTestClient webTestClient() {
+            return WebTestClient.bindToRouterFunction(new TodoListController(handler, new LoadSheddingFilter(Optional.empty()))
+                            .todoListRoutes())
+                    .webFilter(new ReadYourWritesFilter(new ReplicaProperties(List.of(), null, null)))
+                    .build();
+        }
+    }
+}
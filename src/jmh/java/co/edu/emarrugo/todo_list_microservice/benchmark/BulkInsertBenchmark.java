@@ -0,0 +1,66 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación masiva de tareas con {@code insertAll} contra Postgres, en una transacción como hace el servicio.
+ * Con {@code chunkSize = 1} cada tarea es un INSERT propio (la ruta anterior); con valores mayores se agrupan
+ * en un INSERT ... SELECT sobre unnest de arrays por bloque. La tabla se vacía tras cada iteración para que su tamaño no sesgue los resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkInsertBenchmark {
+
+    @Param({"1", "100", "500"})
+    public int chunkSize;
+
+    @Param({"1000"})
+    public int tasks;
+
+    private PostgresBackend backend;
+    private List<TaskEntity> batch;
+
+    @Setup
+    public void setUp() {
+        backend = new PostgresBackend(chunkSize).seed(1, 0);
+        batch = new ArrayList<>(tasks);
+        for (int i = 1; i <= tasks; i++) {
+            TaskEntity task = BenchmarkFixtures.task(i, 1);
+            task.setId(null);
+            batch.add(task);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        backend.execute("TRUNCATE tasks");
+    }
+
+    @TearDown
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public List<Integer> insertAll() {
+        return backend.transactionalOperator.transactional(backend.taskRepository.insertAll(Flux.fromIterable(batch)))
+                .collectList()
+                .block();
+    }
+}
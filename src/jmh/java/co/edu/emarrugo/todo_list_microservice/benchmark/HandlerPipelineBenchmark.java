@@ -0,0 +1,73 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ruta completa router → Handler → TodoListService → repositorio en memoria, incluida
+ * la codificación JSON, sin red ni base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HandlerPipelineBenchmark {
+
+    @Param({"10", "100"})
+    public int tasksPerList;
+
+    private WebTestClient webTestClient;
+    private TaskEntity newTask;
+
+    @Setup
+    public void setUp() {
+        newTask = BenchmarkFixtures.task(1, 2);
+        newTask.setId(null);
+        webTestClient = new BenchmarkFixtures.InMemoryBackend()
+                .seed(10, tasksPerList)
+                .webTestClient();
+    }
+
+    @Benchmark
+    public byte[] getTodoListWithTasks() {
+        return webTestClient.get().uri("/api/todolists/1/withTasks")
+                .exchange()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] getTaskById() {
+        return webTestClient.get().uri("/api/tasks/1")
+                .exchange()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] createTask() {
+        return webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTask)
+                .exchange()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public TaskEntity patchTask() {
+        return webTestClient.patch().uri("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("completed", true))
+                .exchange()
+                .expectBody(TaskEntity.class).returnResult().getResponseBody();
+    }
+}
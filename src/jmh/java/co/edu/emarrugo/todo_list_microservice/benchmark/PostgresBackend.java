@@ -0,0 +1,91 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.SearchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.StreamingProperties;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TaskRepositoryCustomImpl;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListRepositoryCustomImpl;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Postgres real para los benchmarks que dependen de la base de datos: un contenedor de Testcontainers
+ * con el esquema de las migraciones y los repositorios R2DBC del servicio sobre un pool pequeño.
+ * La latencia es la de la red local de Docker; para simular una base remota basta con añadir retardo
+ * a la interfaz del contenedor (tc netem) sin tocar los benchmarks.
+ */
+final class PostgresBackend implements AutoCloseable {
+    private final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+    private final ConnectionPool connectionPool;
+    final DatabaseClient databaseClient;
+    final TransactionalOperator transactionalOperator;
+    final TodoListRepositoryCustomImpl todoListRepository;
+    final TaskRepositoryCustomImpl taskRepository;
+
+    PostgresBackend(int chunkSize) {
+        container.start();
+        Flyway.configure()
+                .dataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword())
+                .load()
+                .migrate();
+        PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder()
+                .host(container.getHost())
+                .port(container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(container.getDatabaseName())
+                .username(container.getUsername())
+                .password(container.getPassword())
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder()
+                .connectionFactory(new PostgresqlConnectionFactory(configuration))
+                .initialSize(1)
+                .maxSize(4)
+                .build());
+        databaseClient = DatabaseClient.create(connectionPool);
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+        StreamingProperties streamingProperties = new StreamingProperties(100);
+        todoListRepository = new TodoListRepositoryCustomImpl(databaseClient, streamingProperties);
+        taskRepository = new TaskRepositoryCustomImpl(databaseClient, streamingProperties,
+                new BatchProperties(chunkSize), new SearchProperties(1000, false));
+    }
+
+    /* Listas 1..todoLists con tasksPerList tareas cada una */
+    PostgresBackend seed(int todoLists, int tasksPerList) {
+        execute("INSERT INTO todo_lists (name) SELECT 'Lista ' || i FROM generate_series(1, " + todoLists + ") i");
+        execute("""
+                INSERT INTO tasks (name, description, completed, deadline, todo_list_id)
+                SELECT 'Tarea ' || i, 'Descripción de la tarea ' || i, i % 3 = 0,
+                       TIMESTAMP '2030-01-01 12:00' + i * INTERVAL '1 hour', l.id
+                FROM todo_lists l, generate_series(1, %d) i
+                """.formatted(tasksPerList));
+        execute("ANALYZE");
+        return this;
+    }
+
+    void execute(String sql) {
+        try (Connection connection = DriverManager.getConnection(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+        container.stop();
+    }
+}
@@ -0,0 +1,71 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.mapper.TaskRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo de filas de {@code tasks} a {@link TaskEntity}: conversor genérico de Spring Data frente al
+ * mapeo explícito de {@link TaskRowMapper} que usan los fragmentos de repositorio. Las filas son las
+ * del driver R2DBC de Postgres (con sus metadatos y códecs); ambas variantes ejecutan la misma consulta,
+ * así que la diferencia de tiempo y de {@code gc.alloc.rate.norm} corresponde al mapeo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMappingBenchmark {
+    private static final String SELECT_TASKS = """
+            SELECT id, name, description, completed, deadline, todo_list_id
+            FROM tasks
+            WHERE todo_list_id = 1
+            ORDER BY id
+            """;
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private PostgresBackend backend;
+    private MappingR2dbcConverter converter;
+
+    @Setup
+    public void setUp() {
+        backend = new PostgresBackend(500).seed(1, rows);
+        converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+    }
+
+    @TearDown
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public List<TaskEntity> springDataConverter() {
+        return backend.databaseClient.sql(SELECT_TASKS)
+                .map((row, metadata) -> converter.read(TaskEntity.class, row, metadata))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<TaskEntity> rowMapper() {
+        return backend.databaseClient.sql(SELECT_TASKS)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all()
+                .collectList()
+                .block();
+    }
+}
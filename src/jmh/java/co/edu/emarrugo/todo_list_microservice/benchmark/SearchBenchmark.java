@@ -0,0 +1,55 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTaskRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de texto del backend en memoria: índice invertido frente a recorrer todas las tareas.
+ * El término raro coincide con una sola tarea; el frecuente, con una de cada diez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"100000"})
+    public int tasks;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"tarea 4242", "frecuente"})
+    public String text;
+
+    private InMemoryTaskRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryTaskRepository(indexed ? new TaskSearchIndex() : null);
+        repository.saveAll(Flux.range(1, tasks).map(id -> TaskEntity.builder()
+                        .name("Tarea " + id)
+                        .description(id % 10 == 0 ? "Término frecuente" : "Descripción " + id)
+                        .todoListId(1 + id % 100)
+                        .build()))
+                .blockLast();
+    }
+
+    @Benchmark
+    public List<TaskEntity> search() {
+        return repository.search(text, 0, 20).map(TaskSearchResult::tasks).block();
+    }
+}
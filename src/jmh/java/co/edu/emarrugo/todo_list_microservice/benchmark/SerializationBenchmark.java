@@ -0,0 +1,55 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de Jackson al codificar y decodificar una lista con N tareas, con los serializadores
+ * explícitos de las entidades o con la serialización reflexiva. Con {@code -prof gc}
+ * (activo en {@code ./gradlew jmh}) {@code gc.alloc.rate.norm} da los bytes asignados por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int taskCount;
+
+    @Param({"explicit", "reflective"})
+    public String serializers;
+
+    private ObjectMapper objectMapper;
+    private TodoListEntity todoList;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "explicit".equals(serializers)
+                ? BenchmarkFixtures.objectMapper()
+                : BenchmarkFixtures.reflectiveObjectMapper();
+        todoList = BenchmarkFixtures.todoListWithTasks(taskCount);
+        json = objectMapper.writeValueAsBytes(todoList);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(todoList);
+    }
+
+    @Benchmark
+    public TodoListEntity decode() throws IOException {
+        return objectMapper.readValue(json, TodoListEntity.class);
+    }
+}
@@ -0,0 +1,66 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composición de getTodoListWithTasks contra Postgres: la consulta con LEFT JOIN que usa el repositorio
+ * frente a las dos consultas secuenciales (findById + findAllByTodoListId) que usaba el servicio antes.
+ * Ambas variantes pasan por los mismos repositorios R2DBC, pool y mapeo de filas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceCompositionBenchmark {
+    private static final int TODO_LISTS = 100;
+
+    @Param({"10", "100"})
+    public int tasksPerList;
+
+    private PostgresBackend backend;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        backend = new PostgresBackend(500).seed(TODO_LISTS, tasksPerList);
+    }
+
+    @TearDown
+    public void tearDown() {
+        backend.close();
+    }
+
+    // Se recorren las listas para que operaciones consecutivas no lean las mismas filas
+    private int nextTodoListId() {
+        next = next % TODO_LISTS + 1;
+        return next;
+    }
+
+    @Benchmark
+    public TodoListEntity singleJoinQuery() {
+        return backend.todoListRepository.findWithTasksById(nextTodoListId()).block();
+    }
+
+    @Benchmark
+    public TodoListEntity twoSequentialQueries() {
+        int id = nextTodoListId();
+        return backend.todoListRepository.findById(id)
+                .flatMap(todoList -> backend.taskRepository.findAllByTodoListId(id)
+                        .collectList()
+                        .map(tasks -> {
+                            todoList.setTasks(tasks);
+                            return todoList;
+                        }))
+                .block();
+    }
+}
@@ -0,0 +1,71 @@
+package co.edu.emarrugo.todo_list_microservice.benchmark;
+
+import co.edu.emarrugo.todo_list_microservice.handler.WireFormats;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de codificar y decodificar una lista con 1.000 tareas en cada formato negociable,
+ * y tamaño del cuerpo resultante (contador auxiliar {@code payloadBytes}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"application/json", "application/cbor", "application/x-jackson-smile", "application/x-protobuf"})
+    public String format;
+
+    @Param({"1000"})
+    public int taskCount;
+
+    private WireFormats wireFormats;
+    private MediaType mediaType;
+    private TodoListEntity todoList;
+    private byte[] payload;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        wireFormats = new WireFormats(BenchmarkFixtures.objectMapper());
+        mediaType = MediaType.parseMediaType(format);
+        todoList = BenchmarkFixtures.todoListWithTasks(taskCount);
+        payload = wireFormats.write(mediaType, todoList);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws IOException {
+        byte[] encoded = wireFormats.write(mediaType, todoList);
+        // EVENTS acumula: se guarda el máximo para que el informe muestre el tamaño de un cuerpo
+        size.payloadBytes = Math.max(size.payloadBytes, encoded.length);
+        return encoded;
+    }
+
+    @Benchmark
+    public TodoListEntity decode() throws IOException {
+        return wireFormats.read(mediaType, payload, TodoListEntity.class);
+    }
+}
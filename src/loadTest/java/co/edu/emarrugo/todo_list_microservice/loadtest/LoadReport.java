@@ -0,0 +1,68 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Resumen de la prueba: primer escalón saturado y su causa probable.
+ * Un escalón está saturado si no alcanza el 90% del RPS objetivo, supera un 1% de errores
+ * o su p99 es más de 4 veces el del primer escalón.
+ */
+record LoadReport(
+        String backend,
+        int virtualUsers,
+        List<StepResult> steps,
+        Integer saturationRps,
+        String saturationCause) {
+
+    private static final double MIN_ACHIEVED_RATIO = 0.9;
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final double MAX_P99_GROWTH = 4.0;
+    private static final double CPU_SATURATED = 0.85;
+
+    static LoadReport of(LoadTestSettings settings, List<StepResult> steps) {
+        double baselineP99 = steps.isEmpty() ? 0 : steps.get(0).overall().p99Millis();
+        for (StepResult step : steps) {
+            String reason = saturationReason(step, baselineP99);
+            if (reason != null) {
+                return new LoadReport(settings.backend(), settings.virtualUsers(), steps, step.targetRps(),
+                        reason + "; " + likelyCause(step));
+            }
+        }
+        return new LoadReport(settings.backend(), settings.virtualUsers(), steps, null, null);
+    }
+
+    private static String saturationReason(StepResult step, double baselineP99) {
+        if (step.achievedRps() < step.targetRps() * MIN_ACHIEVED_RATIO) {
+            return String.format("throughput %.0f < %.0f%% of target", step.achievedRps(), MIN_ACHIEVED_RATIO * 100);
+        }
+        if (step.errorRate() > MAX_ERROR_RATE) {
+            return String.format("error rate %.2f%%", step.errorRate() * 100);
+        }
+        if (baselineP99 > 0 && step.overall().p99Millis() > baselineP99 * MAX_P99_GROWTH) {
+            return String.format("p99 %.2f ms > %.0fx baseline", step.overall().p99Millis(), MAX_P99_GROWTH);
+        }
+        return null;
+    }
+
+    private static String likelyCause(StepResult step) {
+        if (step.server().maxPendingAcquires() > 0) {
+            return String.format("connection pool exhaustion (up to %.0f pending acquires, %.0f acquired)",
+                    step.server().maxPendingAcquires(), step.server().maxAcquiredConnections());
+        }
+        if (step.server().avgProcessCpu() > CPU_SATURATED) {
+            return String.format("CPU / event-loop saturation (process CPU %.0f%%, includes load generator)",
+                    step.server().avgProcessCpu() * 100);
+        }
+        return "queueing without pool or CPU pressure (check client concurrency: loadtest.users)";
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        if (saturationRps == null) {
+            out.println("Sin saturación en los escalones probados.");
+        } else {
+            out.printf("La saturación empieza en %d RPS: %s%n", saturationRps, saturationCause);
+        }
+    }
+}
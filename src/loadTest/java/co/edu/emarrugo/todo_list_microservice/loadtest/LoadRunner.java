@@ -0,0 +1,92 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ejecuta un escalón con N usuarios virtuales (hilos virtuales). Cada usuario espera la respuesta
+ * antes de enviar la siguiente petición (lazo cerrado) y se ritma para aportar {@code targetRps / N};
+ * si va con retraso no intenta recuperarlo, por lo que la saturación aparece como RPS logrado &lt; objetivo.
+ */
+final class LoadRunner {
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Workload workload;
+    private final ServerProbe probe;
+    private final LoadTestSettings settings;
+
+    LoadRunner(HttpClient client, ObjectMapper objectMapper, Workload workload, ServerProbe probe,
+               LoadTestSettings settings) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.workload = workload;
+        this.probe = probe;
+        this.settings = settings;
+    }
+
+    StepResult run(int targetRps, Duration duration) {
+        Map<Workload.Operation, RouteRecorder> recorders = new EnumMap<>(Workload.Operation.class);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            recorders.put(operation, new RouteRecorder());
+        }
+        int users = settings.virtualUsers();
+        long intervalNanos = users * 1_000_000_000L / targetRps;
+        long startedAt = System.nanoTime();
+        long endAt = startedAt + duration.toNanos();
+
+        ServerProbe.Sampling sampling = probe.start();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                long firstAt = startedAt + intervalNanos * user / users;
+                executor.submit(() -> virtualUser(recorders, intervalNanos, firstAt, endAt));
+            }
+        }
+        ServerProbe.Summary server = sampling.stop();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        return StepResult.of(targetRps, elapsedSeconds, recorders, server);
+    }
+
+    private void virtualUser(Map<Workload.Operation, RouteRecorder> recorders, long intervalNanos,
+                             long firstAt, long endAt) {
+        long next = firstAt;
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= endAt) {
+                return;
+            }
+            if (next > now) {
+                LockSupport.parkNanos(next - now);
+            }
+            Workload.Operation operation = workload.next();
+            HttpRequest request = workload.request(operation);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                recorders.get(operation).record(System.nanoTime() - start, response.statusCode());
+                if (operation == Workload.Operation.CREATE_TASK && response.statusCode() == 200) {
+                    workload.onCreated(objectMapper.readTree(response.body()).path("id").asInt());
+                }
+            } catch (IOException e) {
+                recorders.get(operation).recordFailure();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            next += intervalNanos;
+            long behind = System.nanoTime() - next;
+            if (behind > intervalNanos) {
+                next = System.nanoTime();
+            }
+        }
+    }
+}
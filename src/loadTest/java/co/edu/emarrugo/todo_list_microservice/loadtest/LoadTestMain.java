@@ -0,0 +1,105 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import co.edu.emarrugo.todo_list_microservice.app.MainApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generador de carga en lazo cerrado: arranca el servidor WebFlux real en un puerto libre
+ * (backend en memoria o Postgres local), siembra datos y recorre escalones de RPS objetivo.
+ * Para cada escalón informa p50/p99/p999 y throughput por ruta, e indica dónde empieza la saturación.
+ */
+public final class LoadTestMain {
+    private static final Path REPORT_FILE = Path.of("build", "reports", "loadtest", "report.json");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SpringApplication application = new SpringApplication(MainApplication.class);
+        if ("memory".equals(settings.backend())) {
+            application.setAdditionalProfiles("memory");
+        }
+
+        try (ConfigurableApplicationContext context = application.run("--server.port=0")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            SeedData seedData = seed(client, objectMapper, baseUri, settings);
+            Workload workload = new Workload(baseUri, seedData.todoListIds(), seedData.taskIds());
+            LoadRunner runner = new LoadRunner(client, objectMapper, workload, new ServerProbe(context), settings);
+
+            System.out.printf("Backend=%s, usuarios virtuales=%d, escalones=%s%n",
+                    settings.backend(), settings.virtualUsers(), settings.targetRpsSteps());
+            runner.run(settings.targetRpsSteps().get(0), settings.warmup());
+
+            List<StepResult> results = new ArrayList<>();
+            for (int targetRps : settings.targetRpsSteps()) {
+                StepResult result = runner.run(targetRps, settings.stepDuration());
+                results.add(result);
+                result.print(System.out);
+            }
+            LoadReport report = LoadReport.of(settings, results);
+            report.print(System.out);
+            Files.createDirectories(REPORT_FILE.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE.toFile(), report);
+            System.out.println("Informe JSON: " + REPORT_FILE.toAbsolutePath());
+        }
+    }
+
+    // Ids devueltos por el servidor: no tienen por qué empezar en 1 (Postgres con datos previos, secuencias)
+    private record SeedData(List<Integer> todoListIds, List<Integer> taskIds) {
+    }
+
+    private static SeedData seed(HttpClient client, ObjectMapper objectMapper, URI baseUri,
+                                 LoadTestSettings settings) throws IOException, InterruptedException {
+        List<Integer> todoListIds = new ArrayList<>();
+        List<Integer> taskIds = new ArrayList<>();
+        for (int list = 0; list < settings.seedTodoLists(); list++) {
+            JsonNode todoList = send(client, objectMapper, HttpRequest.newBuilder(baseUri.resolve("/api/todolists"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("name", "Lista " + list))))
+                    .build());
+            int todoListId = todoList.path("id").asInt();
+            todoListIds.add(todoListId);
+            List<Map<String, Object>> tasks = new ArrayList<>();
+            for (int i = 0; i < settings.seedTasksPerList(); i++) {
+                tasks.add(Map.<String, Object>of("name", "Tarea " + list + "-" + i, "description", "Semilla", "completed", false));
+            }
+            JsonNode ids = send(client, objectMapper,
+                    HttpRequest.newBuilder(baseUri.resolve("/api/todolists/" + todoListId + "/tasks"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(tasks)))
+                            .build());
+            ids.forEach(id -> taskIds.add(id.asInt()));
+        }
+        return new SeedData(todoListIds, taskIds);
+    }
+
+    private static JsonNode send(HttpClient client, ObjectMapper objectMapper, HttpRequest request)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed: " + request.uri() + " -> " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
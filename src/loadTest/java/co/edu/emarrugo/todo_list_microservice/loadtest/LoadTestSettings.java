@@ -0,0 +1,33 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parámetros de la prueba, leídos de propiedades del sistema {@code loadtest.*}
+ * (Gradle las reenvía: {@code ./gradlew loadTest -Dloadtest.backend=postgres}).
+ */
+record LoadTestSettings(
+        String backend,
+        List<Integer> targetRpsSteps,
+        Duration stepDuration,
+        Duration warmup,
+        int virtualUsers,
+        int seedTodoLists,
+        int seedTasksPerList) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.backend", "memory"),
+                Arrays.stream(System.getProperty("loadtest.rps", "250,500,1000,2000,4000").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .toList(),
+                Duration.ofSeconds(Long.getLong("loadtest.stepSeconds", 20)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)),
+                Integer.getInteger("loadtest.users", 64),
+                Integer.getInteger("loadtest.seedTodoLists", 200),
+                Integer.getInteger("loadtest.seedTasksPerList", 20));
+    }
+}
@@ -0,0 +1,36 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (en microsegundos) y errores de una ruta durante un escalón.
+ */
+final class RouteRecorder {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, int statusCode) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (statusCode >= 500) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure() {
+        errors.increment();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
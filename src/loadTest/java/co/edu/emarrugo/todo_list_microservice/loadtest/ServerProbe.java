@@ -0,0 +1,70 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Muestrea el lado servidor durante un escalón: peticiones esperando conexión en el pool
+ * (r2dbc.pool.pending, solo con Postgres) y uso de CPU del proceso, que incluye al generador.
+ */
+final class ServerProbe {
+    private static final long SAMPLE_MILLIS = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    ServerProbe(ConfigurableApplicationContext context) {
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+    }
+
+    Sampling start() {
+        return new Sampling();
+    }
+
+    record Summary(double maxPendingAcquires, double maxAcquiredConnections, double avgProcessCpu) {
+    }
+
+    final class Sampling {
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final DoubleAdder cpu = new DoubleAdder();
+        private final LongAdder samples = new LongAdder();
+        private volatile double maxPending;
+        private volatile double maxAcquired;
+
+        private Sampling() {
+            scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            maxPending = Math.max(maxPending, gauge("r2dbc.pool.pending"));
+            maxAcquired = Math.max(maxAcquired, gauge("r2dbc.pool.acquired"));
+            double load = os.getProcessCpuLoad();
+            if (load >= 0) {
+                cpu.add(load);
+                samples.increment();
+            }
+        }
+
+        private double gauge(String name) {
+            return Search.in(meterRegistry).name(name).gauges().stream()
+                    .mapToDouble(Gauge::value)
+                    .sum();
+        }
+
+        Summary stop() {
+            scheduler.shutdownNow();
+            long count = samples.sum();
+            return new Summary(maxPending, maxAcquired, count == 0 ? 0 : cpu.sum() / count);
+        }
+    }
+}
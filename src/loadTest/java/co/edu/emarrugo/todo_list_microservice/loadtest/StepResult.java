@@ -0,0 +1,64 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+record StepResult(
+        int targetRps,
+        double achievedRps,
+        RouteStats overall,
+        Map<String, RouteStats> routes,
+        ServerProbe.Summary server) {
+
+    record RouteStats(long requests, long errors, double throughputRps,
+                      double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        static RouteStats of(Histogram histogram, long errors, double elapsedSeconds) {
+            return new RouteStats(
+                    histogram.getTotalCount(),
+                    errors,
+                    histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    static StepResult of(int targetRps, double elapsedSeconds, Map<Workload.Operation, RouteRecorder> recorders,
+                         ServerProbe.Summary server) {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<String, RouteStats> routes = new LinkedHashMap<>();
+        for (Map.Entry<Workload.Operation, RouteRecorder> entry : recorders.entrySet()) {
+            RouteRecorder recorder = entry.getValue();
+            total.add(recorder.histogram());
+            totalErrors += recorder.errors();
+            routes.put(entry.getKey().route, RouteStats.of(recorder.histogram(), recorder.errors(), elapsedSeconds));
+        }
+        RouteStats overall = RouteStats.of(total, totalErrors, elapsedSeconds);
+        return new StepResult(targetRps, overall.throughputRps(), overall, routes, server);
+    }
+
+    double errorRate() {
+        return overall.requests() == 0 ? 0 : (double) overall.errors() / overall.requests();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n== Objetivo %d RPS -> logrado %.0f RPS | p50 %.2f ms p99 %.2f ms p999 %.2f ms | errores %d"
+                        + " | pool pendientes máx %.0f | CPU %.0f%%%n",
+                targetRps, achievedRps, overall.p50Millis(), overall.p99Millis(), overall.p999Millis(),
+                overall.errors(), server.maxPendingAcquires(), server.avgProcessCpu() * 100);
+        out.printf("   %-36s %9s %9s %9s %9s %9s %7s%n", "ruta", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms", "errores");
+        routes.forEach((route, stats) -> out.printf("   %-36s %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                route, stats.throughputRps(), stats.p50Millis(), stats.p99Millis(), stats.p999Millis(),
+                stats.maxMillis(), stats.errors()));
+    }
+}
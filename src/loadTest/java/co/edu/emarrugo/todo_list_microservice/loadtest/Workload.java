@@ -0,0 +1,97 @@
+package co.edu.emarrugo.todo_list_microservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezcla de operaciones sobre las rutas de {@code TodoListController}. Las tareas creadas
+ * por la prueba se eliminan después, de modo que el tamaño del conjunto de datos se mantiene estable.
+ */
+final class Workload {
+
+    enum Operation {
+        GET_TASK("GET /api/tasks/{id}", 35),
+        GET_TODO_LIST("GET /api/todolists/{id}", 15),
+        GET_WITH_TASKS("GET /api/todolists/{id}/withTasks", 20),
+        CREATE_TASK("POST /api/tasks", 12),
+        PATCH_TASK("PATCH /api/tasks/{id}", 12),
+        DELETE_TASK("DELETE /api/tasks/{id}", 6);
+
+        final String route;
+        final int weight;
+
+        Operation(String route, int weight) {
+            this.route = route;
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Operation.values()).mapToInt(op -> op.weight).sum();
+
+    private final URI baseUri;
+    private final List<Integer> seededTodoListIds;
+    private final List<Integer> seededTaskIds;
+    private final Queue<Integer> createdTaskIds = new ConcurrentLinkedQueue<>();
+
+    Workload(URI baseUri, List<Integer> seededTodoListIds, List<Integer> seededTaskIds) {
+        this.baseUri = baseUri;
+        this.seededTodoListIds = seededTodoListIds;
+        this.seededTaskIds = seededTaskIds;
+    }
+
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.GET_TASK;
+    }
+
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int todoListId = seededTodoListIds.get(random.nextInt(seededTodoListIds.size()));
+        int taskId = seededTaskIds.get(random.nextInt(seededTaskIds.size()));
+        return switch (operation) {
+            case GET_TASK -> get("/api/tasks/" + taskId);
+            case GET_TODO_LIST -> get("/api/todolists/" + todoListId);
+            case GET_WITH_TASKS -> get("/api/todolists/" + todoListId + "/withTasks");
+            case CREATE_TASK -> json("POST", "/api/tasks", """
+                    {"name":"Tarea de carga","description":"Creada por la prueba de carga","completed":false,"todoListId":%d}
+                    """.formatted(todoListId));
+            case PATCH_TASK -> json("PATCH", "/api/tasks/" + taskId,
+                    "{\"completed\":" + random.nextBoolean() + "}");
+            case DELETE_TASK -> {
+                // Solo se eliminan tareas creadas por la prueba; si no hay ninguna, se lee
+                Integer created = createdTaskIds.poll();
+                yield created != null
+                        ? HttpRequest.newBuilder(baseUri.resolve("/api/tasks/" + created)).DELETE().build()
+                        : get("/api/tasks/" + taskId);
+            }
+        };
+    }
+
+    void onCreated(Integer taskId) {
+        if (taskId != null) {
+            createdTaskIds.add(taskId);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -1,17 +1,32 @@
 package co.edu.emarrugo.todo_list_microservice.app;
 
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchLoaderProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.PoolProperties;
 import co.edu.emarrugo.todo_list_microservice.model.config.PostgresqlConnectionProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReplicaProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.SearchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.StreamingProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.WriteBehindProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
-import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "co.edu.emarrugo.todo_list_microservice")
-@EnableR2dbcRepositories(basePackages = "co.edu.emarrugo.todo_list_microservice.model.repository")
-@EnableConfigurationProperties(PostgresqlConnectionProperties.class)
+@EnableConfigurationProperties({
+		PostgresqlConnectionProperties.class,
+		StreamingProperties.class,
+		BatchProperties.class,
+		CacheProperties.class,
+		PoolProperties.class,
+		ReplicaProperties.class,
+		BatchLoaderProperties.class,
+		WriteBehindProperties.class,
+		SearchProperties.class})
 @EnableAutoConfiguration
 public class MainApplication {
 
@@ -1,6 +1,7 @@
 package co.edu.emarrugo.todo_list_microservice.controller;
 
 import co.edu.emarrugo.todo_list_microservice.handler.Handler;
+import co.edu.emarrugo.todo_list_microservice.handler.LoadSheddingFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,19 +15,31 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 @RequiredArgsConstructor
 public class TodoListController {
     private final Handler handler;
+    private final LoadSheddingFilter loadSheddingFilter;
 
     @Bean
     public RouterFunction<ServerResponse> todoListRoutes() {
         return route(GET("/api/todolists"), handler::getAllTodoLists)
                 .andRoute(GET("/api/todolists/{id}"), handler::getTodoListById)
                 .andRoute(POST("/api/todolists"), handler::createTodoList)
+                .andRoute(POST("/api/todolists/lookup"), handler::lookupTodoLists)
                 .andRoute(PUT("/api/todolists/{id}"), handler::updateTodoList)
+                .andRoute(PATCH("/api/todolists/{id}"), handler::patchTodoList)
                 .andRoute(DELETE("/api/todolists/{id}"), handler::deleteTodoList)
                 .andRoute(GET("/api/todolists/{id}/tasks"), handler::getTasksByTodoListId)
+                .andRoute(POST("/api/todolists/{id}/tasks"), handler::createTasksInTodoList)
                 .andRoute(GET("/api/todolists/{id}/withTasks"), handler::getTodoListWithTasks)
+                .andRoute(GET("/api/todolists/{id}/stats"), handler::getTodoListStats)
+                .andRoute(GET("/api/todolists/{id}/changes"), handler::getTaskChanges)
+                .andRoute(GET("/api/tasks"), handler::getTasks)
+                .andRoute(POST("/api/tasks/lookup"), handler::lookupTasks)
+                .andRoute(GET("/api/tasks/search"), handler::searchTasks)
                 .andRoute(GET("/api/tasks/{id}"), handler::getTaskById)
                 .andRoute(POST("/api/tasks"), handler::createTask)
+                .andRoute(POST("/api/tasks/batch"), handler::createTasks)
                 .andRoute(PUT("/api/tasks/{id}"), handler::updateTask)
-                .andRoute(DELETE("/api/tasks/{id}"), handler::deleteTask);
+                .andRoute(PATCH("/api/tasks/{id}"), handler::patchTask)
+                .andRoute(DELETE("/api/tasks/{id}"), handler::deleteTask)
+                .filter(loadSheddingFilter);
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package co.edu.emarrugo.todo_list_microservice.handler;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.service.ResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+
+/**
+ * Respuestas con ETag fuerte y soporte de If-None-Match. Cada formato tiene su propio ETag (Vary: Accept).
+ * Las lecturas por id guardan los bytes codificados y el hash de su contenido en {@link ResponseCache} y los
+ * sirven sin volver a serializar. Las colecciones usan la versión de colecciones de la caché, que no requiere
+ * cargar el cuerpo; sin caché, el ETag es el hash del cuerpo serializado una sola vez.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+    private static final int ETAG_BYTES = 16;
+
+    private static final String GZIP = "gzip";
+
+    private final WireFormats wireFormats;
+    private final ResponseCache responseCache;
+
+    public <T> Mono<ServerResponse> okWithETag(ServerRequest request, Class<?> bodyType, Supplier<Mono<T>> loader) {
+        return okWithETag(request, bodyType, loader, body -> body, (body, headers) -> {
+        });
+    }
+
+    /*
+     * Páginas y estadísticas: la versión de colecciones se lee antes de cargar, así que si coincide con
+     * If-None-Match se responde 304 sin consultar el servicio ni serializar (y sin las cabeceras que dependen
+     * del cuerpo). La carga lee del primario por la misma razón que en okWithCachedETag: una réplica atrasada
+     * dejaría el estado anterior asociado a la versión nueva. bodyOf extrae lo que se serializa de lo cargado
+     */
+    public <T> Mono<ServerResponse> okWithETag(ServerRequest request, Class<?> bodyType, Supplier<Mono<T>> loader,
+                                               Function<T, ?> bodyOf, BiConsumer<T, HttpHeaders> extraHeaders) {
+        MediaType mediaType = wireFormats.negotiate(request, bodyType);
+        return Mono.defer(() -> {
+            String versionETag = responseCache.collectionETag(mediaType.toString());
+            if (versionETag == null) {
+                return loader.get().flatMap(loaded -> encode(mediaType, bodyOf.apply(loaded))
+                        .flatMap(content -> respond(request, mediaType, content, eTagOf(content),
+                                headers -> extraHeaders.accept(loaded, headers))));
+            }
+            if (matches(request.headers().header(HttpHeaders.IF_NONE_MATCH), versionETag)) {
+                return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(versionETag).varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+            return loader.get()
+                    .contextWrite(ReadWriteRouting::pinPrimary)
+                    .flatMap(loaded -> encode(mediaType, bodyOf.apply(loaded))
+                            .flatMap(content -> respond(request, mediaType, content, versionETag,
+                                    headers -> extraHeaders.accept(loaded, headers))));
+        });
+    }
+
+    private Mono<byte[]> encode(MediaType mediaType, Object body) {
+        try {
+            return Mono.just(wireFormats.write(mediaType, body));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static Mono<ServerResponse> respond(ServerRequest request, MediaType mediaType, byte[] content, String eTag,
+                                                Consumer<HttpHeaders> extraHeaders) {
+        if (matches(request.headers().header(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                    .headers(extraHeaders).build();
+        }
+        return ok().contentType(mediaType).eTag(eTag).varyBy(HttpHeaders.ACCEPT).headers(extraHeaders)
+                .bodyValue(content);
+    }
+
+    /*
+     * Lectura por id a través de la caché de respuestas: si los bytes del formato pedido están guardados
+     * no se consulta el servicio ni se serializa. todoListIdOf indica la lista a la que pertenece el recurso.
+     * La caché solo se llena con lecturas del primario: una réplica con retraso devolvería el estado anterior
+     * a una escritura ya confirmada y quedaría guardado con la versión nueva hasta el ttl. Un cliente fijado
+     * al primario tras escribir no lee la caché, porque pudo escribir en otro nodo, cuya caché no se invalida
+     */
+    public <T> Mono<ServerResponse> okWithCachedETag(ServerRequest request, ResponseCache.Resource resource, Integer id,
+                                                     Class<T> type, Supplier<Mono<T>> loader,
+                                                     Function<T, Integer> todoListIdOf) {
+        MediaType mediaType = wireFormats.negotiate(request, type);
+        String format = mediaType.toString();
+        return Mono.deferContextual(context -> {
+            ResponseCache.Entry cached = ReadWriteRouting.isPinnedToPrimary(context)
+                    ? null
+                    : responseCache.get(resource, id, format);
+            if (cached != null) {
+                return respond(request, mediaType, cached);
+            }
+            ResponseCache.Version version = responseCache.version(resource, id);
+            Mono<T> load = responseCache.isEnabled()
+                    ? loader.get().contextWrite(ReadWriteRouting::pinPrimary)
+                    : loader.get();
+            return load.flatMap(body -> encode(mediaType, body).flatMap(content -> {
+                ResponseCache.Entry entry = responseCache.entry(content, eTagOf(content), todoListIdOf.apply(body));
+                responseCache.put(resource, id, format, version, entry);
+                return respond(request, mediaType, entry);
+            }));
+        });
+    }
+
+    private Mono<ServerResponse> respond(ServerRequest request, MediaType mediaType, ResponseCache.Entry entry) {
+        if (entry.gzipBody() == null) {
+            if (matches(request.headers().header(HttpHeaders.IF_NONE_MATCH), entry.eTag())) {
+                return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(entry.eTag()).varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+            return ok().contentType(mediaType).eTag(entry.eTag()).varyBy(HttpHeaders.ACCEPT).bodyValue(entry.body());
+        }
+        boolean gzip = acceptsGzip(request.headers().header(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = gzip ? entry.gzipETag() : entry.eTag();
+        if (matches(request.headers().header(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        return ok().contentType(mediaType).eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .headers(headers -> {
+                    if (gzip) {
+                        headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                    }
+                })
+                .bodyValue(gzip ? entry.gzipBody() : entry.body());
+    }
+
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        return acceptEncoding.stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(coding -> coding.trim().split(";"))
+                .anyMatch(coding -> coding[0].trim().equalsIgnoreCase(GZIP)
+                        && (coding.length == 1 || !coding[1].replace(" ", "").matches("q=0(\\.0*)?")));
+    }
+
+    static String eTagOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // If-None-Match usa comparación débil: se ignora el prefijo W/
+    static boolean matches(List<String> ifNoneMatch, String eTag) {
+        return ifNoneMatch.stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+    }
+}
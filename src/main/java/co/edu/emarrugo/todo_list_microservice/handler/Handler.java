@@ -1,84 +1,288 @@
 package co.edu.emarrugo.todo_list_microservice.handler;
 
+import co.edu.emarrugo.todo_list_microservice.model.dto.KeysetPage;
+import co.edu.emarrugo.todo_list_microservice.model.dto.MultiGetResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.service.ResponseCache;
 import co.edu.emarrugo.todo_list_microservice.service.TodoListService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.springframework.web.reactive.function.server.ServerResponse.badRequest;
 import static org.springframework.web.reactive.function.server.ServerResponse.notFound;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
 
 @Component
 @RequiredArgsConstructor
 public class Handler {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TRUNCATED_HEADER = "X-Results-Truncated";
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int MAX_MULTI_GET_IDS = 1000;
+    public static final int MAX_SEARCH_LENGTH = 256;
+    private static final Duration CHANGES_KEEP_ALIVE = Duration.ofSeconds(15);
+    private static final ParameterizedTypeReference<List<Integer>> ID_LIST_TYPE = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<TaskEntity>> TASK_LIST_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final List<MediaType> STREAMING_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
     private final TodoListService todoListService;
+    private final ConditionalResponses conditionalResponses;
+    private final WireFormats wireFormats;
 
     // Métodos para TodoList
     public Mono<ServerResponse> getAllTodoLists(ServerRequest request) {
-        return ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(todoListService.getAllTodoLists(), TodoListEntity.class);
+        if (request.queryParam("ids").isPresent()) {
+            return multiGetResponse(request, request.queryParam("ids").flatMap(Handler::parseIds),
+                    todoListService::getTodoListsByIds);
+        }
+        // Una sonda de índice por lista: siempre paginado, con el límite por defecto si no se indica
+        if (request.queryParam("stats").map(Boolean::parseBoolean).orElse(false)) {
+            return pageResponse(request, todoListService::getTodoListStatsPage);
+        }
+        if (isPageRequest(request)) {
+            return pageResponse(request, todoListService::getTodoListsPage);
+        }
+        Optional<MediaType> streamingType = streamingMediaType(request);
+        if (streamingType.isPresent()) {
+            return ok()
+                    .contentType(streamingType.get())
+                    .body(todoListService.streamAllTodoLists(), TodoListEntity.class);
+        }
+        return listResponse(request, todoListService.getAllTodoLists(), TodoListEntity.class);
+    }
+
+    public Mono<ServerResponse> lookupTodoLists(ServerRequest request) {
+        return request.bodyToMono(ID_LIST_TYPE)
+                .flatMap(ids -> multiGetResponse(request,
+                        Optional.of(ids.stream().filter(Objects::nonNull).distinct().toList()),
+                        todoListService::getTodoListsByIds))
+                .switchIfEmpty(badRequest().build());
     }
 
     public Mono<ServerResponse> getTodoListById(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
-        return todoListService.getTodoListById(id)
-                .flatMap(todoList -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(todoList))
+        return conditionalResponses.okWithCachedETag(request, ResponseCache.Resource.TODO_LIST, id, TodoListEntity.class,
+                        () -> todoListService.getTodoListById(id), TodoListEntity::getId)
+                .switchIfEmpty(notFound().build());
+    }
+
+    public Mono<ServerResponse> getTaskChanges(ServerRequest request) {
+        Integer id = Integer.parseInt(request.pathVariable("id"));
+        Flux<ServerSentEvent<TaskChangeEvent>> changes = todoListService.getTaskChanges(id)
+                .map(change -> ServerSentEvent.builder(change)
+                        .event(change.type().name())
+                        .build());
+        // Comentarios periódicos para que proxies y balanceadores no cierren la conexión ociosa
+        Flux<ServerSentEvent<TaskChangeEvent>> keepAlive = Flux.interval(CHANGES_KEEP_ALIVE)
+                .map(tick -> ServerSentEvent.<TaskChangeEvent>builder().comment("keep-alive").build());
+        return ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(changes, keepAlive), new ParameterizedTypeReference<ServerSentEvent<TaskChangeEvent>>() {
+                });
+    }
+
+    public Mono<ServerResponse> getTodoListStats(ServerRequest request) {
+        Integer id = Integer.parseInt(request.pathVariable("id"));
+        return conditionalResponses.okWithETag(request, TodoListStats.class, () -> todoListService.getTodoListStats(id))
                 .switchIfEmpty(notFound().build());
     }
 
     public Mono<ServerResponse> createTodoList(ServerRequest request) {
         return request.bodyToMono(TodoListEntity.class)
                 .flatMap(todoListService::createTodoList)
-                .flatMap(savedTodoList -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(savedTodoList));
+                .flatMap(savedTodoList -> ok().contentType(wireFormats.negotiate(request)).bodyValue(savedTodoList));
     }
 
     public Mono<ServerResponse> updateTodoList(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
+        // PUT reemplaza la lista completa: sin nombre no hay nada válido que guardar
         return request.bodyToMono(TodoListEntity.class)
-                .flatMap(todoList -> todoListService.updateTodoList(id, todoList))
-                .flatMap(updatedTodoList -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(updatedTodoList))
+                .flatMap(todoList -> {
+                    if (todoList.getName() == null) {
+                        return badRequest().build();
+                    }
+                    return todoListService.updateTodoList(id, todoList)
+                            .flatMap(updatedTodoList -> ok().contentType(wireFormats.negotiate(request))
+                                    .bodyValue(updatedTodoList));
+                })
+                .switchIfEmpty(notFound().build());
+    }
+
+    public Mono<ServerResponse> patchTodoList(ServerRequest request) {
+        Integer id = Integer.parseInt(request.pathVariable("id"));
+        return request.bodyToMono(TodoListPatch.class)
+                .flatMap(patch -> {
+                    if (patch.clearsRequiredField()) {
+                        return badRequest().build();
+                    }
+                    return todoListService.patchTodoList(id, patch)
+                            .flatMap(patchedTodoList -> ok().contentType(wireFormats.negotiate(request))
+                                    .bodyValue(patchedTodoList));
+                })
                 .switchIfEmpty(notFound().build());
     }
 
     public Mono<ServerResponse> deleteTodoList(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
         return todoListService.deleteTodoList(id)
-                .then(ok().build())
+                .flatMap(deleteResult -> ok().contentType(wireFormats.negotiate(request)).bodyValue(deleteResult))
                 .switchIfEmpty(notFound().build());
     }
 
     // Métodos para Task
     public Mono<ServerResponse> getTasksByTodoListId(ServerRequest request) {
         Integer todoListId = Integer.parseInt(request.pathVariable("id"));
-        return ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(todoListService.getTasksByTodoListId(todoListId), TaskEntity.class);
+        Optional<TaskQuery> parsedQuery = parseTaskQuery(request);
+        if (parsedQuery.isEmpty()) {
+            return badRequest().build();
+        }
+        TaskQuery query = parsedQuery.get();
+        if (isPageRequest(request)) {
+            // El cursor es el último id: solo admite el orden por id
+            if (query.sort() != TaskQuery.Sort.ID) {
+                return badRequest().build();
+            }
+            return pageResponse(request, (after, limit) -> query.isUnfiltered()
+                    ? todoListService.getTasksPageByTodoListId(todoListId, after, limit)
+                    : todoListService.getTasksPageByTodoListId(todoListId, query, after, limit));
+        }
+        Optional<MediaType> streamingType = streamingMediaType(request);
+        if (streamingType.isPresent()) {
+            return ok()
+                    .contentType(streamingType.get())
+                    .body(query.isUnfiltered()
+                            ? todoListService.streamTasksByTodoListId(todoListId)
+                            : todoListService.streamTasksByTodoListId(todoListId, query), TaskEntity.class);
+        }
+        return listResponse(request, query.isUnfiltered()
+                ? todoListService.getTasksByTodoListId(todoListId)
+                : todoListService.getTasksByTodoListId(todoListId, query), TaskEntity.class);
+    }
+
+    public Mono<ServerResponse> getTasks(ServerRequest request) {
+        return multiGetResponse(request, request.queryParam("ids").flatMap(Handler::parseIds),
+                todoListService::getTasksByIds);
+    }
+
+    public Mono<ServerResponse> lookupTasks(ServerRequest request) {
+        return request.bodyToMono(ID_LIST_TYPE)
+                .flatMap(ids -> multiGetResponse(request,
+                        Optional.of(ids.stream().filter(Objects::nonNull).distinct().toList()),
+                        todoListService::getTasksByIds))
+                .switchIfEmpty(badRequest().build());
+    }
+
+    public Mono<ServerResponse> searchTasks(ServerRequest request) {
+        Optional<String> text = request.queryParam("q")
+                .map(String::trim)
+                .filter(q -> !q.isEmpty() && q.length() <= MAX_SEARCH_LENGTH);
+        if (text.isEmpty()) {
+            return badRequest().build();
+        }
+        // Resultados por relevancia: el cursor es la posición, no el último id
+        return pageResponse(request, PageCursor::decodeOffset, PageCursor::encodeOffset,
+                (offset, limit) -> todoListService.searchTasks(text.get(), offset, limit));
     }
 
     public Mono<ServerResponse> getTaskById(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
-        return todoListService.getTaskById(id)
-                .flatMap(task -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(task))
+        return conditionalResponses.okWithCachedETag(request, ResponseCache.Resource.TASK, id, TaskEntity.class,
+                        () -> todoListService.getTaskById(id), TaskEntity::getTodoListId)
                 .switchIfEmpty(notFound().build());
     }
 
     public Mono<ServerResponse> createTask(ServerRequest request) {
         return request.bodyToMono(TaskEntity.class)
                 .flatMap(todoListService::createTask)
-                .flatMap(savedTask -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(savedTask));
+                .flatMap(savedTask -> ok().contentType(wireFormats.negotiate(request)).bodyValue(savedTask));
+    }
+
+    public Mono<ServerResponse> createTasks(ServerRequest request) {
+        return createTasksResponse(request, bodyToTasks(request));
+    }
+
+    public Mono<ServerResponse> createTasksInTodoList(ServerRequest request) {
+        Integer todoListId = Integer.parseInt(request.pathVariable("id"));
+        return createTasksResponse(request, bodyToTasks(request)
+                .map(task -> {
+                    task.setTodoListId(todoListId);
+                    return task;
+                }));
+    }
+
+    private Mono<ServerResponse> createTasksResponse(ServerRequest request, Flux<TaskEntity> tasks) {
+        return todoListService.createTasks(tasks)
+                .collectList()
+                .flatMap(ids -> ok().contentType(wireFormats.negotiate(request)).bodyValue(ids));
+    }
+
+    // El decodificador CBOR de Jackson no lee en flujo: el lote llega como un único arreglo
+    private static Flux<TaskEntity> bodyToTasks(ServerRequest request) {
+        boolean cbor = request.headers().contentType()
+                .map(MediaType.APPLICATION_CBOR::isCompatibleWith)
+                .orElse(false);
+        return cbor
+                ? request.bodyToMono(TASK_LIST_TYPE).flatMapIterable(Function.identity())
+                : request.bodyToFlux(TaskEntity.class);
     }
 
     public Mono<ServerResponse> updateTask(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
         return request.bodyToMono(TaskEntity.class)
-                .flatMap(task -> todoListService.updateTask(id, task))
-                .flatMap(updatedTask -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(updatedTask))
+                .flatMap(task -> {
+                    // PUT reemplaza la tarea completa: el nombre es obligatorio
+                    if (task.getName() == null) {
+                        return badRequest().build();
+                    }
+                    Mono<TaskEntity> updated = todoListService.isTaskWriteBehindEnabled()
+                            ? todoListService.bufferTaskUpdate(id, task)
+                            : todoListService.updateTask(id, task);
+                    return updated.flatMap(updatedTask -> ok().contentType(wireFormats.negotiate(request))
+                            .bodyValue(updatedTask));
+                })
+                .switchIfEmpty(notFound().build());
+    }
+
+    public Mono<ServerResponse> patchTask(ServerRequest request) {
+        Integer id = Integer.parseInt(request.pathVariable("id"));
+        // JSON Merge Patch: un campo a null se borra, salvo los obligatorios
+        return request.bodyToMono(TaskPatch.class)
+                .flatMap(patch -> {
+                    if (patch.clearsRequiredField()) {
+                        return badRequest().build();
+                    }
+                    return todoListService.patchTask(id, patch)
+                            .flatMap(patchedTask -> ok().contentType(wireFormats.negotiate(request))
+                                    .bodyValue(patchedTask));
+                })
                 .switchIfEmpty(notFound().build());
     }
 
@@ -91,9 +295,106 @@ public class Handler {
 
     public Mono<ServerResponse> getTodoListWithTasks(ServerRequest request) {
         Integer id = Integer.parseInt(request.pathVariable("id"));
-        return todoListService.getTodoListWithTasks(id)
-                .flatMap(todoListWithTasks -> ok().contentType(MediaType.APPLICATION_JSON).bodyValue(todoListWithTasks))
+        return conditionalResponses.okWithCachedETag(request, ResponseCache.Resource.TODO_LIST_WITH_TASKS, id,
+                        TodoListEntity.class, () -> todoListService.getTodoListWithTasks(id), TodoListEntity::getId)
                 .switchIfEmpty(notFound().build());
     }
 
-}
\ No newline at end of file
+    // JSON se escribe elemento a elemento; CBOR no admite codificación en flujo, así que los formatos
+    // binarios se acumulan y se envían como un único arreglo
+    private <T> Mono<ServerResponse> listResponse(ServerRequest request, Flux<T> items, Class<T> type) {
+        MediaType mediaType = wireFormats.negotiate(request);
+        if (wireFormats.isBinary(mediaType)) {
+            return items.collectList().flatMap(list -> ok().contentType(mediaType).bodyValue(list));
+        }
+        return ok().contentType(mediaType).body(items, type);
+    }
+
+    // Transmisión elemento a elemento (NDJSON / SSE) cuando el cliente la pide explícitamente
+    private static Optional<MediaType> streamingMediaType(ServerRequest request) {
+        return request.headers().accept().stream()
+                .filter(mediaType -> STREAMING_MEDIA_TYPES.stream().anyMatch(mediaType::equalsTypeAndSubtype))
+                .findFirst();
+    }
+
+    // Filtros ?completed=, ?dueAfter=, ?dueBefore= (ISO-8601), ?namePrefix= y ?sort=id|deadline|name
+    static Optional<TaskQuery> parseTaskQuery(ServerRequest request) {
+        try {
+            return Optional.of(new TaskQuery(
+                    request.queryParam("completed").map(Handler::parseStrictBoolean).orElse(null),
+                    request.queryParam("dueAfter").map(LocalDateTime::parse).orElse(null),
+                    request.queryParam("dueBefore").map(LocalDateTime::parse).orElse(null),
+                    request.queryParam("namePrefix").filter(prefix -> !prefix.isEmpty()).orElse(null),
+                    request.queryParam("sort").map(TaskQuery.Sort::parse).orElse(TaskQuery.Sort.ID)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Boolean parseStrictBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid boolean: " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    // Paginación por clave (keyset): WHERE id > cursor ORDER BY id LIMIT n
+    private static boolean isPageRequest(ServerRequest request) {
+        return request.queryParam("limit").isPresent() || request.queryParam("after").isPresent();
+    }
+
+    private <T> Mono<ServerResponse> pageResponse(ServerRequest request,
+                                                         BiFunction<Integer, Integer, Mono<KeysetPage<T>>> pageLoader) {
+        return pageResponse(request, PageCursor::decode, PageCursor::encode, pageLoader);
+    }
+
+    private <T> Mono<ServerResponse> pageResponse(ServerRequest request, Function<String, Integer> decodeCursor,
+                                                  Function<Integer, String> encodeCursor,
+                                                  BiFunction<Integer, Integer, Mono<KeysetPage<T>>> pageLoader) {
+        Integer after;
+        int limit;
+        try {
+            after = request.queryParam("after").map(decodeCursor).orElse(0);
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(DEFAULT_PAGE_LIMIT);
+        } catch (IllegalArgumentException e) {
+            return badRequest().build();
+        }
+        if (limit < 1) {
+            return badRequest().build();
+        }
+        int pageLimit = Math.min(limit, MAX_PAGE_LIMIT);
+        return conditionalResponses.okWithETag(request, List.class, () -> pageLoader.apply(after, pageLimit),
+                KeysetPage::items, (page, headers) -> {
+                    if (page.nextCursor() != null) {
+                        headers.set(NEXT_CURSOR_HEADER, encodeCursor.apply(page.nextCursor()));
+                    }
+                    if (page.truncated()) {
+                        headers.set(TRUNCATED_HEADER, "true");
+                    }
+                });
+    }
+
+    // Lectura múltiple por ids: una sola consulta WHERE id = ANY(:ids), en el orden pedido
+    static Optional<List<Integer>> parseIds(String value) {
+        try {
+            List<Integer> ids = Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(Integer::valueOf)
+                    .distinct()
+                    .toList();
+            return Optional.of(ids);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private <T> Mono<ServerResponse> multiGetResponse(ServerRequest request, Optional<List<Integer>> ids,
+                                                      Function<List<Integer>, Mono<MultiGetResult<T>>> loader) {
+        if (ids.isEmpty() || ids.get().isEmpty() || ids.get().size() > MAX_MULTI_GET_IDS) {
+            return badRequest().build();
+        }
+        return loader.apply(ids.get())
+                .flatMap(result -> ok().contentType(wireFormats.negotiate(request)).bodyValue(result));
+    }
+}
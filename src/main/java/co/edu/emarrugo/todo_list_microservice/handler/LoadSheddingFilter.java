@@ -0,0 +1,61 @@
+package co.edu.emarrugo.todo_list_microservice.handler;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.AdaptivePoolController;
+import co.edu.emarrugo.todo_list_microservice.service.TaskWriteBehind;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Responde 503 con Retry-After en lugar de encolar indefinidamente: antes de ejecutar el handler
+ * si la cola del pool supera el umbral adaptativo, cuando vence el tiempo máximo de adquisición
+ * y cuando el búfer de escritura diferida está lleno.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadSheddingFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private final Optional<AdaptivePoolController> poolController;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        if (poolController.map(AdaptivePoolController::isOverloaded).orElse(false)) {
+            return serviceUnavailable();
+        }
+        return next.handle(request)
+                .onErrorResume(LoadSheddingFilter::isAcquireTimeout, e -> serviceUnavailable())
+                .onErrorResume(TaskWriteBehind.BufferFullException.class, e -> serviceUnavailable());
+    }
+
+    private Mono<ServerResponse> serviceUnavailable() {
+        long retryAfter = poolController.map(AdaptivePoolController::getRetryAfterSeconds)
+                .orElse(DEFAULT_RETRY_AFTER_SECONDS);
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .build();
+    }
+
+    static boolean isAcquireTimeout(Throwable error) {
+        if (!(error instanceof DataAccessResourceFailureException) && !(error instanceof R2dbcTimeoutException)) {
+            return false;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcTimeoutException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
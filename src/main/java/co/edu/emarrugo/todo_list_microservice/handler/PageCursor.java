@@ -0,0 +1,49 @@
+package co.edu.emarrugo.todo_list_microservice.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para la paginación por clave: codifica el último id entregado
+ * (o la posición siguiente en los resultados de búsqueda, ordenados por relevancia).
+ */
+public final class PageCursor {
+    private static final String PREFIX = "id:";
+    private static final String OFFSET_PREFIX = "offset:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Integer lastId) {
+        return encode(PREFIX, lastId);
+    }
+
+    public static Integer decode(String cursor) {
+        return decode(PREFIX, cursor);
+    }
+
+    public static String encodeOffset(Integer offset) {
+        return encode(OFFSET_PREFIX, offset);
+    }
+
+    public static Integer decodeOffset(String cursor) {
+        Integer offset = decode(OFFSET_PREFIX, cursor);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return offset;
+    }
+
+    private static String encode(String prefix, Integer value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefix + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Integer decode(String prefix, String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return Integer.parseInt(decoded.substring(prefix.length()));
+    }
+}
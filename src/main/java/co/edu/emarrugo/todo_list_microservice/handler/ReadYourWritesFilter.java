@@ -0,0 +1,82 @@
+package co.edu.emarrugo.todo_list_microservice.handler;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReplicaProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Lee-tus-escrituras: tras una escritura correcta el cliente recibe una cookie con el instante
+ * hasta el que sus lecturas se sirven desde el primario, cubriendo el retraso de replicación.
+ * La cookie lleva el instante de caducidad, así que funciona con varias instancias del servicio.
+ * Es un WebFilter y no un filtro de rutas: el contexto que fija el primario envuelve todo el intercambio,
+ * incluida la escritura del cuerpo, donde se suscriben los Flux de los listados y las transmisiones.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter implements WebFilter {
+    public static final String PIN_COOKIE = "primary-pin";
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(5);
+
+    private final ReplicaProperties replicaProperties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!replicaProperties.enabled()) {
+            return chain.filter(exchange);
+        }
+        if (HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            return isPinned(exchange)
+                    ? chain.filter(exchange).contextWrite(ReadWriteRouting::pinPrimary)
+                    : chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            HttpStatusCode status = response.getStatusCode();
+            if (status == null || status.is2xxSuccessful()) {
+                pin(response);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    private void pin(ServerHttpResponse response) {
+        Duration window = window();
+        long pinnedUntil = System.currentTimeMillis() + window.toMillis();
+        response.addCookie(ResponseCookie.from(PIN_COOKIE, Long.toString(pinnedUntil))
+                .maxAge(window)
+                .path("/")
+                .httpOnly(true)
+                .build());
+    }
+
+    static boolean isPinned(ServerWebExchange exchange) {
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(PIN_COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Duration window() {
+        return replicaProperties.readYourWritesWindow() != null
+                ? replicaProperties.readYourWritesWindow()
+                : DEFAULT_WINDOW;
+    }
+}
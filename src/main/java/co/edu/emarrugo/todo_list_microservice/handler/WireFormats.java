@@ -0,0 +1,148 @@
+package co.edu.emarrugo.todo_list_microservice.handler;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.json.EntityJsonModule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Formatos de intercambio soportados por las respuestas y cuerpos del {@link Handler}.
+ * JSON es el formato por defecto; CBOR y Smile son representaciones binarias del mismo modelo Jackson
+ * y se eligen con la cabecera Accept (respuestas) o Content-Type (peticiones).
+ * Protobuf solo se ofrece para los tipos con mensaje en {@code proto/todo_list.proto} y solo en respuestas:
+ * no tiene codec registrado, así que se codifica aquí con {@link #write}.
+ */
+@Component
+public class WireFormats {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+    private static final String PROTOBUF_SCHEMA = "/proto/todo_list.proto";
+
+    // En orden de preferencia: ante Accept ausente o */* gana el primero
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final ObjectMapper protobufMapper;
+    private final Map<Class<?>, ProtobufSchema> protobufSchemas;
+
+    /* Los mapeadores binarios parten del builder de Spring Boot: respetan spring.jackson.* y los Module declarados */
+    @Autowired
+    public WireFormats(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this(objectMapper, builders::getObject);
+    }
+
+    /* Fuera de Spring (pruebas, benchmarks): los valores por defecto que Spring Boot aplica al builder */
+    public WireFormats(ObjectMapper objectMapper) {
+        this(objectMapper, () -> Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new EntityJsonModule()));
+    }
+
+    private WireFormats(ObjectMapper objectMapper, Supplier<Jackson2ObjectMapperBuilder> builders) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, builders.get().factory(new CBORFactory()).build());
+        mappers.put(APPLICATION_SMILE, builders.get().factory(new SmileFactory()).build());
+        // El esquema declara deadline como texto, sea cual sea la configuración de fechas
+        protobufMapper = builders.get()
+                .factory(new ProtobufFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        protobufSchemas = loadProtobufSchemas();
+    }
+
+    private static Map<Class<?>, ProtobufSchema> loadProtobufSchemas() {
+        try (InputStream definition = WireFormats.class.getResourceAsStream(PROTOBUF_SCHEMA)) {
+            if (definition == null) {
+                throw new IllegalStateException("Protobuf schema not found: " + PROTOBUF_SCHEMA);
+            }
+            ProtobufSchema schema = ProtobufSchemaLoader.std.load(definition);
+            return Map.of(
+                    TaskEntity.class, schema.withRootType("Task"),
+                    TodoListEntity.class, schema.withRootType("TodoList"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* Formatos con codec registrado: sirven para cualquier cuerpo */
+    public MediaType negotiate(ServerRequest request) {
+        return negotiate(request, mappers.keySet());
+    }
+
+    /* Como negotiate(request), añadiendo Protobuf si bodyType tiene mensaje en el esquema */
+    public MediaType negotiate(ServerRequest request, Class<?> bodyType) {
+        if (!protobufSchemas.containsKey(bodyType)) {
+            return negotiate(request);
+        }
+        List<MediaType> supported = new ArrayList<>(mappers.keySet());
+        supported.add(APPLICATION_PROTOBUF);
+        return negotiate(request, supported);
+    }
+
+    private static MediaType negotiate(ServerRequest request, Collection<MediaType> supportedTypes) {
+        List<MediaType> accepted = request.headers().accept().stream()
+                .filter(mediaType -> mediaType.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList();
+        for (MediaType mediaType : accepted) {
+            for (MediaType supported : supportedTypes) {
+                if (mediaType.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public ObjectMapper mapperFor(MediaType mediaType) {
+        return mappers.getOrDefault(mediaType, mappers.get(MediaType.APPLICATION_JSON));
+    }
+
+    public byte[] write(MediaType mediaType, Object body) throws JsonProcessingException {
+        if (APPLICATION_PROTOBUF.equalsTypeAndSubtype(mediaType)) {
+            return protobufMapper.writer(protobufSchema(body.getClass())).writeValueAsBytes(body);
+        }
+        return mapperFor(mediaType).writeValueAsBytes(body);
+    }
+
+    public <T> T read(MediaType mediaType, byte[] content, Class<T> type) throws IOException {
+        if (APPLICATION_PROTOBUF.equalsTypeAndSubtype(mediaType)) {
+            return protobufMapper.readerFor(type).with(protobufSchema(type)).readValue(content);
+        }
+        return mapperFor(mediaType).readValue(content, type);
+    }
+
+    private ProtobufSchema protobufSchema(Class<?> type) {
+        ProtobufSchema schema = protobufSchemas.get(type);
+        if (schema == null) {
+            throw new IllegalArgumentException("No protobuf message for " + type.getName());
+        }
+        return schema;
+    }
+
+    public boolean isBinary(MediaType mediaType) {
+        return !MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType);
+    }
+}
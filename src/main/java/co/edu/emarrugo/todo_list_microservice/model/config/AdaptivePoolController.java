@@ -0,0 +1,108 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Ajusta periódicamente el umbral de peticiones pendientes de conexión a partir del cual se rechaza
+ * con 503 (AIMD): si hay cola y la latencia media de adquisición supera el objetivo, el umbral se reduce
+ * a la mitad; si no, crece de uno en uno hasta el máximo configurado. Tras una reducción no se vuelve a
+ * reducir hasta pasado {@code decreaseCooldown}: la latencia de los intervalos siguientes aún refleja
+ * la cola anterior al recorte.
+ * El tamaño físico del pool no puede cambiarse en caliente en r2dbc-pool: crece bajo demanda hasta
+ * maxSize y se reduce hasta minIdle por desalojo de conexiones ociosas.
+ */
+@Component
+@Profile("!memory")
+public class AdaptivePoolController {
+    private final IntSupplier pendingAcquires;
+    private final Timer acquireTimer;
+    private final PoolProperties.Shedding shedding;
+    private final long cooldownAdjustments;
+    private volatile int pendingThreshold;
+    private long lastCount;
+    private double lastTotalMillis;
+    private long cooldownRemaining;
+    private Disposable adjuster;
+
+    @Autowired
+    public AdaptivePoolController(ConnectionPool connectionPool, MeteredConnectionFactory connectionFactory,
+                                  PoolProperties poolProperties, MeterRegistry meterRegistry) {
+        this(() -> connectionPool.getMetrics().map(PoolMetrics::pendingAcquireSize).orElse(0),
+                connectionFactory.getAcquireTimer(), poolProperties.shedding(), meterRegistry);
+    }
+
+    /* Fuentes de métricas separadas del pool para poder probar el ajuste */
+    AdaptivePoolController(IntSupplier pendingAcquires, Timer acquireTimer, PoolProperties.Shedding shedding,
+                           MeterRegistry meterRegistry) {
+        this.pendingAcquires = pendingAcquires;
+        this.acquireTimer = acquireTimer;
+        this.shedding = shedding;
+        this.cooldownAdjustments = shedding.decreaseCooldown() == null ? 0
+                : (long) Math.ceil((double) shedding.decreaseCooldown().toMillis() / shedding.adjustInterval().toMillis());
+        this.pendingThreshold = shedding.maxPendingThreshold();
+        Gauge.builder("r2dbc.pool.shedding.threshold", this, AdaptivePoolController::getPendingThreshold)
+                .description("Pending acquires above which requests are rejected with 503")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (shedding.enabled()) {
+            adjuster = Flux.interval(shedding.adjustInterval())
+                    .subscribe(tick -> adjust());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (adjuster != null) {
+            adjuster.dispose();
+        }
+    }
+
+    public boolean isOverloaded() {
+        return shedding.enabled() && pendingAcquires.getAsInt() >= pendingThreshold;
+    }
+
+    public int getPendingThreshold() {
+        return pendingThreshold;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, shedding.retryAfter().toSeconds());
+    }
+
+    synchronized void adjust() {
+        long count = acquireTimer.count();
+        double totalMillis = acquireTimer.totalTime(TimeUnit.MILLISECONDS);
+        double recentMeanMillis = count > lastCount ? (totalMillis - lastTotalMillis) / (count - lastCount) : 0;
+        lastCount = count;
+        lastTotalMillis = totalMillis;
+
+        boolean congested = pendingAcquires.getAsInt() > 0
+                && recentMeanMillis > shedding.targetAcquireLatency().toMillis();
+        if (cooldownRemaining > 0) {
+            cooldownRemaining--;
+        }
+        if (!congested) {
+            pendingThreshold = Math.min(shedding.maxPendingThreshold(), pendingThreshold + 1);
+        } else if (cooldownRemaining == 0) {
+            pendingThreshold = Math.max(shedding.minPendingThreshold(), pendingThreshold / 2);
+            cooldownRemaining = cooldownAdjustments;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TaskRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListRepository;
+import co.edu.emarrugo.todo_list_microservice.service.BatchLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BatchLoaderConfig {
+
+    @Bean
+    public BatchLoader<TodoListEntity> todoListLoader(TodoListRepository repository, BatchLoaderProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return BatchLoader.disabled(repository::findById);
+        }
+        return BatchLoader.from("todoLists", properties, ids -> repository.findByIds(ids.toArray(Integer[]::new)),
+                TodoListEntity::getId, meterRegistry);
+    }
+
+    @Bean
+    public BatchLoader<TaskEntity> taskLoader(TaskRepository repository, BatchLoaderProperties properties,
+                                              MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return BatchLoader.disabled(repository::findById);
+        }
+        return BatchLoader.from("tasks", properties, ids -> repository.findByIds(ids.toArray(Integer[]::new)),
+                TaskEntity::getId, meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo-list.batch-loader")
+public record BatchLoaderProperties(
+        boolean enabled,
+        Duration window,
+        Integer maxBatchSize) {
+}
@@ -0,0 +1,11 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tareas agrupadas en cada INSERT multi-fila de la creación masiva.
+ */
+@ConfigurationProperties(prefix = "todo-list.batch")
+public record BatchProperties(
+        Integer chunkSize) {
+}
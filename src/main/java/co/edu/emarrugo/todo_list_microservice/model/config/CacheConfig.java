@@ -0,0 +1,27 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.service.EntityCache;
+import co.edu.emarrugo.todo_list_microservice.service.ResponseCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public EntityCache<TodoListEntity> todoListCache(CacheProperties properties) {
+        return EntityCache.from("todoLists", properties.todoLists());
+    }
+
+    @Bean
+    public EntityCache<TaskEntity> taskCache(CacheProperties properties) {
+        return EntityCache.from("tasks", properties.tasks());
+    }
+
+    @Bean
+    public ResponseCache responseCache(CacheProperties properties) {
+        return ResponseCache.from(properties.responses());
+    }
+}
@@ -0,0 +1,28 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo-list.cache")
+public record CacheProperties(
+        Spec todoLists,
+        Spec tasks,
+        Responses responses) {
+
+    public record Spec(
+            boolean enabled,
+            long maximumSize,
+            Duration ttl) {
+    }
+
+    /* Respuestas ya codificadas: el límite es en bytes, no en número de entradas */
+    public record Responses(
+            boolean enabled,
+            DataSize maximumSize,
+            Duration ttl,
+            boolean gzip,
+            DataSize gzipMinSize) {
+    }
+}
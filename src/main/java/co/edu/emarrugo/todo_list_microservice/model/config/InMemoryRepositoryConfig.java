@@ -0,0 +1,46 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryChangeFeed;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTaskRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTodoListRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTodoListStatsRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTransactionManager;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.TaskSearchIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+/**
+ * Backend en memoria (perfil {@code memory}) para pruebas de carga y entornos sin Postgres.
+ */
+@Configuration
+@Profile("memory")
+public class InMemoryRepositoryConfig {
+
+    @Bean
+    public InMemoryTaskRepository taskRepository(SearchProperties searchProperties) {
+        return new InMemoryTaskRepository(searchProperties.inMemoryIndex() ? new TaskSearchIndex() : null);
+    }
+
+    @Bean
+    public InMemoryTodoListRepository todoListRepository(InMemoryTaskRepository taskRepository) {
+        return new InMemoryTodoListRepository(taskRepository);
+    }
+
+    @Bean
+    public InMemoryTodoListStatsRepository todoListStatsRepository(InMemoryTodoListRepository todoListRepository,
+                                                                   InMemoryTaskRepository taskRepository) {
+        return new InMemoryTodoListStatsRepository(todoListRepository, taskRepository);
+    }
+
+    @Bean
+    public InMemoryChangeFeed changeFeed() {
+        return new InMemoryChangeFeed();
+    }
+
+    @Bean
+    public ReactiveTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mide cuánto espera cada petición para obtener una conexión del pool.
+ * Las métricas de tamaño (acquired, idle, pending...) las publica Spring Boot como r2dbc.pool.*.
+ */
+public class MeteredConnectionFactory implements ConnectionFactory {
+    public static final String ACQUIRE_TIMER_NAME = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final Timer acquireTimer;
+
+    public MeteredConnectionFactory(ConnectionFactory delegate, String poolName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquireTimer = Timer.builder(ACQUIRE_TIMER_NAME)
+                .description("Time spent waiting to acquire a pooled connection")
+                .tag("name", poolName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return Mono.from(delegate.create())
+                    .doOnSuccess(connection -> sample.stop(acquireTimer));
+        });
+    }
+
+    public Timer getAcquireTimer() {
+        return acquireTimer;
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+}
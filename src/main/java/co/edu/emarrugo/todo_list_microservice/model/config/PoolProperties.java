@@ -0,0 +1,34 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo-list.pool")
+public record PoolProperties(
+        Integer initialSize,
+        Integer minIdle,
+        Integer maxSize,
+        Duration maxIdleTime,
+        Duration maxAcquireTime,
+        Duration maxCreateConnectionTime,
+        Duration backgroundEvictionInterval,
+        String validationQuery,
+        Shedding shedding) {
+
+    /**
+     * Rechazo temprano (503) cuando la cola de peticiones esperando conexión supera un umbral.
+     * El umbral se adapta entre {@code minPendingThreshold} y {@code maxPendingThreshold}
+     * según la latencia observada al adquirir conexiones; entre dos reducciones pasa al menos
+     * {@code decreaseCooldown} (nulo: sin espera).
+     */
+    public record Shedding(
+            boolean enabled,
+            int minPendingThreshold,
+            int maxPendingThreshold,
+            Duration targetAcquireLatency,
+            Duration adjustInterval,
+            Duration decreaseCooldown,
+            Duration retryAfter) {
+    }
+}
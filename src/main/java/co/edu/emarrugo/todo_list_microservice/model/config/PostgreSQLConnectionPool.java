@@ -1,42 +1,87 @@
 package co.edu.emarrugo.todo_list_microservice.model.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.StringUtils;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@Profile("!memory")
 public class PostgreSQLConnectionPool {
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
+    public static final String POOL_NAME = "api-postgres-connection-pool";
 
     @Bean
-    public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties) {
-        PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
-                .host(properties.host())
-                .port(properties.port())
+    public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties, PoolProperties poolProperties) {
+        return connectionPool(properties, properties.host(), properties.port(), POOL_NAME, poolProperties);
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(PostgresqlConnectionProperties properties, PoolProperties poolProperties,
+                                     ReplicaProperties replicaProperties) {
+        if (!replicaProperties.enabled()) {
+            return new ReplicaPools(List.of(), replicaProperties.balancing());
+        }
+        List<ConnectionPool> pools = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.endpoints().size(); i++) {
+            ReplicaProperties.Endpoint endpoint = replicaProperties.endpoints().get(i);
+            pools.add(connectionPool(properties, endpoint.host(), endpoint.port(), POOL_NAME + "-replica-" + i, poolProperties));
+        }
+        return new ReplicaPools(pools, replicaProperties.balancing());
+    }
+
+    /* Las lecturas marcadas con ReadWriteRouting van a las réplicas; el resto, al primario */
+    @Bean
+    @Primary
+    public MeteredConnectionFactory meteredConnectionFactory(ConnectionPool connectionPool, ReplicaPools replicaPools,
+                                                             MeterRegistry meterRegistry) {
+        ConnectionFactory target = replicaPools.isEmpty()
+                ? connectionPool
+                : new ReadWriteRoutingConnectionFactory(connectionPool, replicaPools);
+        return new MeteredConnectionFactory(target, POOL_NAME, meterRegistry);
+    }
+
+    private static ConnectionPool connectionPool(PostgresqlConnectionProperties properties, String host, Integer port,
+                                                 String name, PoolProperties poolProperties) {
+        PostgresqlConnectionConfiguration dbConfiguration = connectionConfiguration(properties, host, port);
+
+        /* Las conexiones crecen bajo demanda hasta maxSize y las ociosas se desalojan hasta minIdle */
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration.builder()
+                .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
+                .name(name)
+                .initialSize(poolProperties.initialSize())
+                .minIdle(poolProperties.minIdle())
+                .maxSize(poolProperties.maxSize())
+                .maxIdleTime(poolProperties.maxIdleTime())
+                .maxAcquireTime(poolProperties.maxAcquireTime())
+                .maxCreateConnectionTime(poolProperties.maxCreateConnectionTime())
+                .backgroundEvictionInterval(poolProperties.backgroundEvictionInterval());
+        if (StringUtils.hasText(poolProperties.validationQuery())) {
+            poolConfiguration.validationQuery(poolProperties.validationQuery());
+        }
+
+        return new ConnectionPool(poolConfiguration.build());
+    }
+
+    public static PostgresqlConnectionConfiguration connectionConfiguration(PostgresqlConnectionProperties properties,
+                                                                            String host, Integer port) {
+        return PostgresqlConnectionConfiguration.builder()
+                .host(host)
+                .port(port)
                 .database(properties.database())
                 .schema(properties.schema())
                 .username(properties.username())
                 .password(properties.password())
                 .build();
-
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
-                .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
-                .name("api-postgres-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
-
-        return new ConnectionPool(poolConfiguration);
     }
 }
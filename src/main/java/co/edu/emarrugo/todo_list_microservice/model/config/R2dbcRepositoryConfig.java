@@ -0,0 +1,11 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+@Configuration
+@Profile("!memory")
+@EnableR2dbcRepositories(basePackages = "co.edu.emarrugo.todo_list_microservice.model.repository")
+public class R2dbcRepositoryConfig {
+}
@@ -0,0 +1,33 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Claves del contexto de Reactor que deciden si una consulta va al primario o a una réplica.
+ * Sin clave en el contexto (escrituras, transacciones) se usa el primario.
+ */
+public final class ReadWriteRouting {
+    public static final String ROUTE_KEY = ReadWriteRouting.class.getName() + ".route";
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private ReadWriteRouting() {
+    }
+
+    /* Lecturas: réplica, salvo que el cliente esté fijado al primario por una escritura reciente */
+    public static Context preferReplica(Context context) {
+        return context.hasKey(ROUTE_KEY) ? context : context.put(ROUTE_KEY, Route.REPLICA);
+    }
+
+    public static Context pinPrimary(Context context) {
+        return context.put(ROUTE_KEY, Route.PRIMARY);
+    }
+
+    public static boolean isPinnedToPrimary(ContextView context) {
+        return context.getOrDefault(ROUTE_KEY, null) == Route.PRIMARY;
+    }
+}
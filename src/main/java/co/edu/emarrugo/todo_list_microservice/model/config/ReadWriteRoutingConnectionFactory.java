@@ -0,0 +1,23 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replicas) {
+        setTargetConnectionFactories(Map.of(
+                ReadWriteRouting.Route.PRIMARY, primary,
+                ReadWriteRouting.Route.REPLICA, replicas));
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<Object>getOrEmpty(ReadWriteRouting.ROUTE_KEY)));
+    }
+}
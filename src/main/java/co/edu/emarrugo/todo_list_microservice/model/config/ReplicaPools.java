@@ -0,0 +1,83 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Conjunto de pools de réplicas expuesto como un único {@link ConnectionFactory}: cada conexión
+ * se pide a la réplica elegida por turno rotatorio o por menor número de peticiones pendientes.
+ */
+public class ReplicaPools implements ConnectionFactory, MeterBinder, DisposableBean {
+    private final List<ConnectionPool> pools;
+    private final ReplicaProperties.Balancing balancing;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPools(List<ConnectionPool> pools, ReplicaProperties.Balancing balancing) {
+        this.pools = List.copyOf(pools);
+        this.balancing = balancing != null ? balancing : ReplicaProperties.Balancing.ROUND_ROBIN;
+    }
+
+    public boolean isEmpty() {
+        return pools.isEmpty();
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return select().create();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pools.get(0).getMetadata();
+    }
+
+    ConnectionPool select() {
+        if (balancing == ReplicaProperties.Balancing.LEAST_PENDING) {
+            return pools.stream()
+                    .min(Comparator.comparingInt((ConnectionPool pool) -> metric(pool, PoolMetrics::pendingAcquireSize))
+                            .thenComparingInt(pool -> metric(pool, PoolMetrics::acquiredSize)))
+                    .orElseThrow();
+        }
+        return pools.get(Math.floorMod(next.getAndIncrement(), pools.size()));
+    }
+
+    private static int metric(ConnectionPool pool, ToIntFunction<PoolMetrics> extractor) {
+        return pool.getMetrics().map(extractor::applyAsInt).orElse(0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < pools.size(); i++) {
+            ConnectionPool pool = pools.get(i);
+            String name = "replica-" + i;
+            gauge(registry, "r2dbc.pool.acquired", name, pool, PoolMetrics::acquiredSize);
+            gauge(registry, "r2dbc.pool.idle", name, pool, PoolMetrics::idleSize);
+            gauge(registry, "r2dbc.pool.pending", name, pool, PoolMetrics::pendingAcquireSize);
+        }
+    }
+
+    private static void gauge(MeterRegistry registry, String metric, String name, ConnectionPool pool,
+                              ToIntFunction<PoolMetrics> extractor) {
+        ToDoubleFunction<ConnectionPool> value = p -> metric(p, extractor);
+        Gauge.builder(metric, pool, value).tag("name", name).register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(ConnectionPool::dispose);
+    }
+}
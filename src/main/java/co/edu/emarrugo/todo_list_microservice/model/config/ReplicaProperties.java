@@ -0,0 +1,29 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de lectura de Postgres. Usan las mismas credenciales, base de datos y tamaño de pool
+ * que el primario; sin réplicas configuradas todo el tráfico va al primario.
+ */
+@ConfigurationProperties(prefix = "todo-list.replicas")
+public record ReplicaProperties(
+        List<Endpoint> endpoints,
+        Balancing balancing,
+        Duration readYourWritesWindow) {
+
+    public record Endpoint(String host, Integer port) {
+    }
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_PENDING
+    }
+
+    public boolean enabled() {
+        return endpoints != null && !endpoints.isEmpty();
+    }
+}
@@ -0,0 +1,23 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Búsqueda de texto de tareas: coincidencias que Postgres puntúa como máximo por consulta (se leen
+ * todas igualmente, ver {@code TaskRepositoryCustomImpl.SEARCH}) y si el backend en memoria mantiene
+ * un índice invertido (sin él recorre todas las tareas).
+ */
+@ConfigurationProperties(prefix = "todo-list.search")
+public record SearchProperties(
+        Integer maxCandidates,
+        boolean inMemoryIndex) {
+    private static final int DEFAULT_MAX_CANDIDATES = 1000;
+
+    public SearchProperties {
+        if (maxCandidates == null) {
+            maxCandidates = DEFAULT_MAX_CANDIDATES;
+        } else if (maxCandidates < 1) {
+            throw new IllegalArgumentException("todo-list.search.max-candidates must be positive: " + maxCandidates);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Filas pedidas al cursor de Postgres por cada lote cuando se transmite una colección.
+ */
+@ConfigurationProperties(prefix = "todo-list.streaming")
+public record StreamingProperties(
+        Integer fetchSize) {
+}
@@ -0,0 +1,41 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import co.edu.emarrugo.todo_list_microservice.handler.WireFormats;
+import co.edu.emarrugo.todo_list_microservice.model.json.EntityJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+
+/**
+ * Serializadores explícitos de las entidades y codecs CBOR y Smile con los mismos ObjectMapper
+ * que usa {@link WireFormats}, para que la negociación por Accept/Content-Type funcione
+ * en respuestas y cuerpos de petición.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // Spring Boot registra los Module declarados como bean en el ObjectMapper JSON
+    @Bean
+    public Module entityJsonModule() {
+        return new EntityJsonModule();
+    }
+
+    @Bean
+    public CodecCustomizer binaryWireFormats(WireFormats wireFormats) {
+        ObjectMapper cborMapper = wireFormats.mapperFor(MediaType.APPLICATION_CBOR);
+        ObjectMapper smileMapper = wireFormats.mapperFor(WireFormats.APPLICATION_SMILE);
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2SmileEncoder(smileMapper));
+            configurer.customCodecs().register(new Jackson2SmileDecoder(smileMapper));
+        };
+    }
+}
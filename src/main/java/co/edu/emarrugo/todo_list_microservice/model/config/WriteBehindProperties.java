@@ -0,0 +1,13 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo-list.write-behind")
+public record WriteBehindProperties(
+        boolean enabled,
+        Duration flushInterval,
+        Integer flushSize,
+        Integer maxPending) {
+}
@@ -0,0 +1,4 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+public record DeleteResult(long deletedTodoLists, long deletedTasks) {
+}
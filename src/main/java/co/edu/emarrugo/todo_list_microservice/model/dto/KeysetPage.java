@@ -0,0 +1,38 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de una colección. {@code truncated} marca resultados calculados sobre una ventana acotada
+ * (búsqueda de texto): el cursor termina aunque existan más coincidencias.
+ */
+public record KeysetPage<T>(List<T> items, Integer nextCursor, boolean truncated) {
+
+    public KeysetPage(List<T> items, Integer nextCursor) {
+        this(items, nextCursor, false);
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió {@code limit + 1} filas:
+     * la fila sobrante solo indica que existe una página siguiente.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Integer> idExtractor) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idExtractor.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Variante por posición para resultados ordenados por relevancia, donde el id no sirve de cursor:
+     * la página siguiente empieza en {@code offset + limit}.
+     */
+    public static <T> KeysetPage<T> atOffset(List<T> rows, int offset, int limit, boolean truncated) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null, truncated);
+        }
+        return new KeysetPage<>(rows.subList(0, limit), offset + limit, truncated);
+    }
+}
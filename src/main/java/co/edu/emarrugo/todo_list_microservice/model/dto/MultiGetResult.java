@@ -0,0 +1,30 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public record MultiGetResult<T>(List<T> items, List<Integer> missing) {
+
+    /**
+     * Ordena las filas devueltas por {@code WHERE id = ANY(:ids)} según el orden pedido
+     * y lista los ids que no existen.
+     */
+    public static <T> MultiGetResult<T> of(List<Integer> ids, List<T> rows, Function<T, Integer> idExtractor) {
+        Map<Integer, T> byId = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> byId.put(idExtractor.apply(row), row));
+        List<T> items = new ArrayList<>(rows.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                items.add(row);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+}
@@ -0,0 +1,36 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+/**
+ * Cambio en las tareas de una lista. {@code taskId} es nulo en las altas en bloque, en el borrado
+ * de la lista entera y en RESYNC (pudieron perderse eventos): el cliente debe volver a leer la lista.
+ * Un RESYNC sin lista afecta a todas; lo emite el propio nodo y nunca viaja por NOTIFY.
+ */
+public record TaskChangeEvent(Type type, Integer todoListId, Integer taskId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESYNC
+    }
+
+    public static TaskChangeEvent resync(Integer todoListId) {
+        return new TaskChangeEvent(Type.RESYNC, todoListId, null);
+    }
+
+    /* Formato compacto para el payload de NOTIFY (límite de 8000 bytes): TIPO:lista:tarea */
+    public String toPayload() {
+        return type + ":" + todoListId + ":" + (taskId != null ? taskId : "");
+    }
+
+    public static TaskChangeEvent fromPayload(String payload) {
+        String[] parts = payload.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid change payload: " + payload);
+        }
+        return new TaskChangeEvent(
+                Type.valueOf(parts[0]),
+                Integer.valueOf(parts[1]),
+                parts[2].isEmpty() ? null : Integer.valueOf(parts[2]));
+    }
+}
@@ -0,0 +1,79 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Cambios parciales de una tarea con la semántica de JSON Merge Patch (RFC 7386): un campo ausente
+ * (componente null) no se modifica y un campo enviado a null (Optional vacío) se borra.
+ * name y completed son obligatorios: borrarlos no es un cambio válido (ver {@link #clearsRequiredField()}).
+ */
+@JsonDeserialize(builder = TaskPatch.Builder.class)
+public record TaskPatch(Optional<String> name, Optional<String> description, Optional<Boolean> completed,
+                        Optional<LocalDateTime> deadline) {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean clearsRequiredField() {
+        return isCleared(name) || isCleared(completed);
+    }
+
+    /* Mismo resultado que updateFields sobre la fila, para estados que aún no están en la base de datos */
+    public TaskEntity applyTo(TaskEntity task) {
+        return TaskEntity.builder()
+                .id(task.getId())
+                .name(merge(name, task.getName()))
+                .description(merge(description, task.getDescription()))
+                .completed(merge(completed, task.isCompleted()))
+                .deadline(merge(deadline, task.getDeadline()))
+                .todoListId(task.getTodoListId())
+                .build();
+    }
+
+    private static boolean isCleared(Optional<?> change) {
+        return change != null && change.isEmpty();
+    }
+
+    private static <T> T merge(Optional<T> change, T current) {
+        return change != null ? change.orElse(null) : current;
+    }
+
+    /* Jackson solo llama a los métodos de los campos presentes en el cuerpo, con null si llegan a null */
+    @JsonPOJOBuilder(withPrefix = "")
+    public static final class Builder {
+        private Optional<String> name;
+        private Optional<String> description;
+        private Optional<Boolean> completed;
+        private Optional<LocalDateTime> deadline;
+
+        public Builder name(String name) {
+            this.name = Optional.ofNullable(name);
+            return this;
+        }
+
+        public Builder description(String description) {
+            this.description = Optional.ofNullable(description);
+            return this;
+        }
+
+        public Builder completed(Boolean completed) {
+            this.completed = Optional.ofNullable(completed);
+            return this;
+        }
+
+        public Builder deadline(LocalDateTime deadline) {
+            this.deadline = Optional.ofNullable(deadline);
+            return this;
+        }
+
+        public TaskPatch build() {
+            return new TaskPatch(name, description, completed, deadline);
+        }
+    }
+}
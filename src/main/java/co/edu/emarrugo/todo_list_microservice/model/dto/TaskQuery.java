@@ -0,0 +1,66 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Filtros y orden de las tareas de una lista. Los filtros nulos no se aplican;
+ * el rango de vencimiento es semiabierto: {@code dueAfter <= deadline < dueBefore}.
+ */
+public record TaskQuery(Boolean completed, LocalDateTime dueAfter, LocalDateTime dueBefore, String namePrefix,
+                        Sort sort) {
+
+    public static final TaskQuery ALL = new TaskQuery(null, null, null, null, Sort.ID);
+
+    public enum Sort {
+        ID("id", Comparator.comparing(TaskEntity::getId)),
+        DEADLINE("deadline", Comparator.comparing(TaskEntity::getDeadline,
+                Comparator.nullsLast(Comparator.naturalOrder()))),
+        NAME("name", Comparator.comparing(TaskEntity::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        private final String column;
+        private final Comparator<TaskEntity> comparator;
+
+        Sort(String column, Comparator<TaskEntity> comparator) {
+            this.column = column;
+            // El id desempata, igual que ORDER BY <columna>, id
+            this.comparator = comparator.thenComparing(TaskEntity::getId);
+        }
+
+        public String column() {
+            return column;
+        }
+
+        public Comparator<TaskEntity> comparator() {
+            return comparator;
+        }
+
+        public static Sort parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public boolean isUnfiltered() {
+        return completed == null && dueAfter == null && dueBefore == null && namePrefix == null && sort == Sort.ID;
+    }
+
+    /* Misma semántica que la consulta SQL, para el backend en memoria */
+    public boolean matches(TaskEntity task) {
+        if (completed != null && task.isCompleted() != completed) {
+            return false;
+        }
+        if ((dueAfter != null || dueBefore != null) && task.getDeadline() == null) {
+            return false;
+        }
+        if (dueAfter != null && task.getDeadline().isBefore(dueAfter)) {
+            return false;
+        }
+        if (dueBefore != null && !task.getDeadline().isBefore(dueBefore)) {
+            return false;
+        }
+        return namePrefix == null || (task.getName() != null && task.getName().startsWith(namePrefix));
+    }
+}
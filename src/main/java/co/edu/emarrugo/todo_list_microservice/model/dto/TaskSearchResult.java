@@ -0,0 +1,12 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+
+import java.util.List;
+
+/**
+ * Página de la búsqueda de texto. {@code truncated} indica que había más coincidencias que candidatos
+ * puntuados: la relevancia solo se ordenó dentro de las más recientes y el resto no aparecerá.
+ */
+public record TaskSearchResult(List<TaskEntity> tasks, boolean truncated) {
+}
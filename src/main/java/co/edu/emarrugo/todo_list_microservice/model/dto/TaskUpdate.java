@@ -0,0 +1,9 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+
+/**
+ * Fila actualizada junto con el estado de completado que tenía antes, para ajustar las estadísticas.
+ */
+public record TaskUpdate(boolean previousCompleted, TaskEntity task) {
+}
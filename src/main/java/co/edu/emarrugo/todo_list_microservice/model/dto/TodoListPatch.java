@@ -0,0 +1,36 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+import java.util.Optional;
+
+/**
+ * Cambios parciales de una lista con la semántica de JSON Merge Patch, como {@link TaskPatch}:
+ * un nombre ausente no se modifica; enviarlo a null intentaría borrarlo y no es válido.
+ */
+@JsonDeserialize(builder = TodoListPatch.Builder.class)
+public record TodoListPatch(Optional<String> name) {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean clearsRequiredField() {
+        return name != null && name.isEmpty();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static final class Builder {
+        private Optional<String> name;
+
+        public Builder name(String name) {
+            this.name = Optional.ofNullable(name);
+            return this;
+        }
+
+        public TodoListPatch build() {
+            return new TodoListPatch(name);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package co.edu.emarrugo.todo_list_microservice.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progreso de una lista: totales mantenidos incrementalmente en todo_list_stats y
+ * vencidas/próximo vencimiento resueltos sobre el índice parcial de tareas pendientes.
+ */
+public record TodoListStats(
+        Integer todoListId,
+        String name,
+        long totalTasks,
+        long completedTasks,
+        long overdueTasks,
+        LocalDateTime nextDeadline) {
+}
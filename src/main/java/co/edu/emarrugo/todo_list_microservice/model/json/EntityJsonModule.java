@@ -0,0 +1,17 @@
+package co.edu.emarrugo.todo_list_microservice.model.json;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Registra los serializadores explícitos de las entidades en cualquier ObjectMapper (JSON, CBOR o Smile).
+ */
+public class EntityJsonModule extends SimpleModule {
+
+    public EntityJsonModule() {
+        super("EntityJsonModule");
+        addSerializer(TaskEntity.class, new TaskEntitySerializer());
+        addSerializer(TodoListEntity.class, new TodoListEntitySerializer());
+    }
+}
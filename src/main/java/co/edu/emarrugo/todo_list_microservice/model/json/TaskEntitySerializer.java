@@ -0,0 +1,77 @@
+package co.edu.emarrugo.todo_list_microservice.model.json;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Serializador explícito de {@link TaskEntity}: nombres de campo pre-codificados y sin acceso reflexivo
+ * a los getters. Mantiene el orden y la forma de la serialización por defecto (nulos incluidos).
+ */
+public class TaskEntitySerializer extends StdSerializer<TaskEntity> implements ContextualSerializer {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString COMPLETED = new SerializedString("completed");
+    private static final SerializedString DEADLINE = new SerializedString("deadline");
+    private static final SerializedString TODO_LIST_ID = new SerializedString("todoListId");
+
+    // Se resuelve una vez por ObjectMapper para respetar su configuración de fechas
+    private final JsonSerializer<Object> deadlineSerializer;
+
+    public TaskEntitySerializer() {
+        this(null);
+    }
+
+    private TaskEntitySerializer(JsonSerializer<Object> deadlineSerializer) {
+        super(TaskEntity.class);
+        this.deadlineSerializer = deadlineSerializer;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        return new TaskEntitySerializer(provider.findValueSerializer(LocalDateTime.class, property));
+    }
+
+    @Override
+    public void serialize(TaskEntity task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(task);
+        generator.writeFieldName(ID);
+        writeInteger(generator, task.getId());
+        generator.writeFieldName(NAME);
+        generator.writeString(task.getName());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(task.getDescription());
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(task.isCompleted());
+        generator.writeFieldName(DEADLINE);
+        if (task.getDeadline() == null) {
+            generator.writeNull();
+        } else if (deadlineSerializer != null) {
+            deadlineSerializer.serialize(task.getDeadline(), generator, provider);
+        } else {
+            provider.defaultSerializeValue(task.getDeadline(), generator);
+        }
+        generator.writeFieldName(TODO_LIST_ID);
+        writeInteger(generator, task.getTodoListId());
+        generator.writeEndObject();
+    }
+
+    private static void writeInteger(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.emarrugo.todo_list_microservice.model.json;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializador explícito de {@link TodoListEntity}. Como la entidad usa {@code NON_NULL},
+ * se omiten los campos nulos; las tareas se delegan en {@link TaskEntitySerializer}.
+ */
+public class TodoListEntitySerializer extends StdSerializer<TodoListEntity> implements ContextualSerializer {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString TASKS = new SerializedString("tasks");
+
+    private final JsonSerializer<Object> taskSerializer;
+
+    public TodoListEntitySerializer() {
+        this(null);
+    }
+
+    private TodoListEntitySerializer(JsonSerializer<Object> taskSerializer) {
+        super(TodoListEntity.class);
+        this.taskSerializer = taskSerializer;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        return new TodoListEntitySerializer(provider.findValueSerializer(TaskEntity.class, property));
+    }
+
+    @Override
+    public void serialize(TodoListEntity todoList, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(todoList);
+        if (todoList.getId() != null) {
+            generator.writeFieldName(ID);
+            generator.writeNumber(todoList.getId());
+        }
+        if (todoList.getName() != null) {
+            generator.writeFieldName(NAME);
+            generator.writeString(todoList.getName());
+        }
+        List<TaskEntity> tasks = todoList.getTasks();
+        if (tasks != null) {
+            generator.writeFieldName(TASKS);
+            generator.writeStartArray(tasks, tasks.size());
+            for (TaskEntity task : tasks) {
+                if (task == null) {
+                    generator.writeNull();
+                } else if (taskSerializer != null) {
+                    taskSerializer.serialize(task, generator, provider);
+                } else {
+                    provider.defaultSerializeValue(task, generator);
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+}
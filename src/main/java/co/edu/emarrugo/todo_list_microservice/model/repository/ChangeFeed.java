@@ -0,0 +1,14 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ChangeFeed {
+
+    /* Dentro de una transacción, el evento solo se entrega si esta confirma */
+    Mono<Void> publish(TaskChangeEvent event);
+
+    /* Flujo compartido con los cambios de todas las listas */
+    Flux<TaskChangeEvent> events();
+}
@@ -0,0 +1,86 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.PostgreSQLConnectionPool;
+import co.edu.emarrugo.todo_list_microservice.model.config.PostgresqlConnectionProperties;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cambios publicados con pg_notify y recibidos con LISTEN, de modo que cada nodo ve las escrituras de todos.
+ * Un único LISTEN por nodo, en una conexión propia fuera del pool, se reparte entre todos los suscriptores:
+ * se abre con el primero y se cierra al irse el último. NOTIFY no se reenvía al reconectar, así que tras
+ * recuperar la conexión se emite un RESYNC para todas las listas.
+ */
+@Slf4j
+@Repository
+@Profile("!memory")
+public class PostgresChangeFeed implements ChangeFeed {
+    public static final String CHANNEL = "task_changes";
+    private static final String NOTIFY = "SELECT pg_notify('" + CHANNEL + "', :payload)";
+
+    private final DatabaseClient databaseClient;
+    private final Flux<TaskChangeEvent> events;
+
+    public PostgresChangeFeed(DatabaseClient databaseClient, PostgresqlConnectionProperties properties) {
+        this.databaseClient = databaseClient;
+        PostgresqlConnectionFactory listenerFactory = new PostgresqlConnectionFactory(
+                PostgreSQLConnectionPool.connectionConfiguration(properties, properties.host(), properties.port()));
+        this.events = Flux.defer(() -> {
+                    // Por cada apertura compartida: solo los reintentos pueden haber perdido eventos
+                    AtomicBoolean reconnecting = new AtomicBoolean();
+                    return Flux.usingWhen(
+                                    listenerFactory.create(),
+                                    connection -> listen(connection, reconnecting.getAndSet(true)),
+                                    PostgresqlConnection::close)
+                            .doOnError(e -> log.warn("LISTEN {} connection lost, reconnecting", CHANNEL, e))
+                            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                                    .maxBackoff(Duration.ofSeconds(30)));
+                })
+                .publish()
+                .refCount();
+    }
+
+    private static Flux<TaskChangeEvent> listen(PostgresqlConnection connection, boolean reconnected) {
+        Flux<TaskChangeEvent> notifications = connection.getNotifications()
+                .map(Notification::getParameter)
+                .flatMap(PostgresChangeFeed::parse);
+        return connection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(reconnected ? notifications.startWith(TaskChangeEvent.resync(null)) : notifications);
+    }
+
+    private static Mono<TaskChangeEvent> parse(String payload) {
+        try {
+            return Mono.just(TaskChangeEvent.fromPayload(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed {} payload: {}", CHANNEL, payload);
+            return Mono.empty();
+        }
+    }
+
+    @Override
+    public Mono<Void> publish(TaskChangeEvent event) {
+        return databaseClient.sql(NOTIFY)
+                .bind("payload", event.toPayload())
+                .then();
+    }
+
+    @Override
+    public Flux<TaskChangeEvent> events() {
+        return events;
+    }
+}
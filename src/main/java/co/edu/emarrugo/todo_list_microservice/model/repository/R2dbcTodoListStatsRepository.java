@@ -0,0 +1,83 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
+import co.edu.emarrugo.todo_list_microservice.model.repository.mapper.TodoListStatsRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class R2dbcTodoListStatsRepository implements TodoListStatsRepository {
+    static final String UPSERT_DELTA = """
+            INSERT INTO todo_list_stats (todo_list_id, total_tasks, completed_tasks)
+            VALUES (:todoListId, :totalDelta, :completedDelta)
+            ON CONFLICT (todo_list_id) DO UPDATE
+            SET total_tasks = todo_list_stats.total_tasks + EXCLUDED.total_tasks,
+                completed_tasks = todo_list_stats.completed_tasks + EXCLUDED.completed_tasks
+            """;
+    static final String DELETE = "DELETE FROM todo_list_stats WHERE todo_list_id = :todoListId";
+    /*
+     * Los contadores se leen de todo_list_stats; vencidas y próximo vencimiento dependen de la hora,
+     * así que se resuelven con una sonda sobre el índice parcial idx_tasks_open_deadline.
+     */
+    static final String SELECT_STATS = """
+            SELECT l.id AS todo_list_id, l.name,
+                   COALESCE(s.total_tasks, 0) AS total_tasks,
+                   COALESCE(s.completed_tasks, 0) AS completed_tasks,
+                   d.overdue_tasks, d.next_deadline
+            FROM todo_lists l
+            LEFT JOIN todo_list_stats s ON s.todo_list_id = l.id
+            CROSS JOIN LATERAL (
+                SELECT count(*) FILTER (WHERE t.deadline < :now) AS overdue_tasks,
+                       min(t.deadline) FILTER (WHERE t.deadline >= :now) AS next_deadline
+                FROM tasks t
+                WHERE t.todo_list_id = l.id AND NOT t.completed AND t.deadline IS NOT NULL
+            ) d
+            """;
+    static final String SELECT_STATS_BY_ID = SELECT_STATS + "WHERE l.id = :todoListId";
+    static final String SELECT_STATS_PAGE = SELECT_STATS + "WHERE l.id > :after ORDER BY l.id LIMIT :limit";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> applyDelta(Integer todoListId, long totalDelta, long completedDelta) {
+        return databaseClient.sql(UPSERT_DELTA)
+                .bind("todoListId", todoListId)
+                .bind("totalDelta", totalDelta)
+                .bind("completedDelta", completedDelta)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> deleteByTodoListId(Integer todoListId) {
+        return databaseClient.sql(DELETE)
+                .bind("todoListId", todoListId)
+                .then();
+    }
+
+    @Override
+    public Mono<TodoListStats> findByTodoListId(Integer todoListId, LocalDateTime now) {
+        return databaseClient.sql(SELECT_STATS_BY_ID)
+                .bind("now", now)
+                .bind("todoListId", todoListId)
+                .map((row, metadata) -> TodoListStatsRowMapper.map(row))
+                .one();
+    }
+
+    @Override
+    public Flux<TodoListStats> findPage(Integer after, Integer limit, LocalDateTime now) {
+        return databaseClient.sql(SELECT_STATS_PAGE)
+                .bind("now", now)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> TodoListStatsRowMapper.map(row))
+                .all();
+    }
+}
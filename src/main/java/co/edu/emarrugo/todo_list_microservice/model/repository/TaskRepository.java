@@ -2,11 +2,17 @@ package co.edu.emarrugo.todo_list_microservice.model.repository;
 
 
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface TaskRepository extends ReactiveCrudRepository<TaskEntity, Integer> {
-    Flux<TaskEntity> findAllByTodoListId(Integer todoListId);
-}
\ No newline at end of file
+public interface TaskRepository extends ReactiveCrudRepository<TaskEntity, Integer>, TaskRepositoryCustom {
+    String DELETE_ALL_BY_TODO_LIST = "DELETE FROM tasks WHERE todo_list_id = :todoListId";
+
+    @Modifying
+    @Query(DELETE_ALL_BY_TODO_LIST)
+    Mono<Long> deleteAllByTodoListId(Integer todoListId);
+}
@@ -0,0 +1,49 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskUpdate;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Consultas de la ruta caliente con mapeo explícito fila → entidad ({@code TaskRowMapper}),
+ * sin pasar por el conversor reflexivo de Spring Data. Sustituye también a {@code findById}.
+ */
+public interface TaskRepositoryCustom {
+    Mono<TaskEntity> findById(Integer id);
+
+    Flux<TaskEntity> findByIds(Integer[] ids);
+
+    Flux<TaskEntity> findAllByTodoListId(Integer todoListId);
+
+    Flux<TaskEntity> findPageByTodoListId(Integer todoListId, Integer after, Integer limit);
+
+    /* Filtros y orden compilados a SQL; after (paginación por id) y limit son opcionales */
+    Flux<TaskEntity> findByTodoListId(Integer todoListId, TaskQuery query, Integer after, Integer limit);
+
+    /* Búsqueda de texto en nombre y descripción: todas las palabras de text, por relevancia y luego id */
+    Mono<TaskSearchResult> search(String text, Integer offset, Integer limit);
+
+    /* Bloquea la fila hasta el fin de la transacción para descontar de las estadísticas la tarea borrada */
+    Mono<TaskEntity> findByIdForUpdate(Integer id);
+
+    Flux<TaskEntity> streamAllByTodoListId(Integer todoListId);
+
+    /* Como findByTodoListId sin paginar, leyendo el cursor del servidor por bloques de fetchSize filas */
+    Flux<TaskEntity> streamByTodoListId(Integer todoListId, TaskQuery query);
+
+    Flux<Integer> insertAll(Flux<TaskEntity> tasks);
+
+    /* Devuelven la fila actualizada y si estaba completada, sin otra consulta previa */
+    Mono<TaskUpdate> replace(Integer id, TaskEntity task);
+
+    Mono<TaskUpdate> updateFields(Integer id, TaskPatch patch);
+
+    /* Reemplaza varias tareas con UPDATE ... FROM (VALUES ...) por bloques; las inexistentes se ignoran */
+    Flux<TaskUpdate> replaceAll(List<TaskEntity> tasks);
+}
@@ -0,0 +1,327 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.SearchProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.StreamingProperties;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskUpdate;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.mapper.TaskRowMapper;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    static final String SELECT_TASKS = "SELECT id, name, description, completed, deadline, todo_list_id FROM tasks";
+    static final String SELECT_BY_ID = SELECT_TASKS + " WHERE id = :id";
+    static final String SELECT_BY_ID_FOR_UPDATE = SELECT_BY_ID + " FOR UPDATE";
+    static final String SELECT_BY_IDS = SELECT_TASKS + " WHERE id = ANY(:ids)";
+    static final String SELECT_ALL_BY_TODO_LIST = SELECT_TASKS + " WHERE todo_list_id = :todoListId";
+    static final String SELECT_PAGE_BY_TODO_LIST =
+            SELECT_ALL_BY_TODO_LIST + " AND id > :after ORDER BY id LIMIT :limit";
+    static final String SELECT_BY_TODO_LIST = SELECT_ALL_BY_TODO_LIST + " ORDER BY id";
+    /*
+     * ts_rank solo puntúa las :candidates coincidencias más recientes (mayor id), una ventana estable entre
+     * páginas. La fila de más en matches solo indica que la ventana se recortó. El LIMIT no acota la lectura:
+     * el índice GIN no devuelve las filas por id, así que el recorrido de bitmap lee todas las coincidencias
+     * y un top-N las ordena. Lo acotado es la memoria de ese orden, el cálculo de ts_rank y la respuesta.
+     */
+    static final String SEARCH = """
+            WITH query AS (SELECT plainto_tsquery('simple', :text) AS terms),
+            matches AS (
+                SELECT t.id, t.name, t.description, t.completed, t.deadline, t.todo_list_id, t.search_vector
+                FROM tasks t, query
+                WHERE t.search_vector @@ query.terms
+                ORDER BY t.id DESC
+                LIMIT :candidates + 1
+            ),
+            candidates AS (
+                SELECT * FROM matches ORDER BY id DESC LIMIT :candidates
+            )
+            SELECT c.id, c.name, c.description, c.completed, c.deadline, c.todo_list_id,
+                   (SELECT count(*) FROM matches) > :candidates AS truncated
+            FROM candidates c, query
+            ORDER BY ts_rank(c.search_vector, query.terms) DESC, c.id
+            LIMIT :limit OFFSET :offset
+            """;
+    /*
+     * Postgres no garantiza el orden de RETURNING: las filas se insertan en el orden de ORDINALITY, así que los ids
+     * de la secuencia crecen con él y ordenar por id devuelve cada id en la posición de su tarea de entrada
+     */
+    static final String INSERT_ALL = """
+            WITH input AS (
+                SELECT * FROM unnest(CAST(:names AS text[]), CAST(:descriptions AS text[]),
+                                     CAST(:completed AS boolean[]), CAST(:deadlines AS timestamp[]),
+                                     CAST(:todoListIds AS integer[]))
+                    WITH ORDINALITY AS i (name, description, completed, deadline, todo_list_id, position)
+            ),
+            inserted AS (
+                INSERT INTO tasks (name, description, completed, deadline, todo_list_id)
+                SELECT name, description, completed, deadline, todo_list_id FROM input ORDER BY position
+                RETURNING id
+            )
+            SELECT id FROM inserted ORDER BY id
+            """;
+    /*
+     * Bloquea las filas en orden de id antes de actualizarlas para devolver el estado anterior
+     * sin interbloqueos entre vaciados concurrentes
+     */
+    static final String REPLACE_ALL = """
+            WITH v (id, name, description, completed, deadline) AS (VALUES %s),
+            previous AS (
+                SELECT t.id, t.completed FROM tasks t
+                WHERE t.id IN (SELECT id FROM v)
+                ORDER BY t.id
+                FOR UPDATE
+            )
+            UPDATE tasks t
+            SET name = v.name, description = v.description, completed = v.completed, deadline = v.deadline
+            FROM v JOIN previous p ON p.id = v.id
+            WHERE t.id = v.id
+            RETURNING t.*, p.completed AS previous_completed
+            """;
+    /* Postgres admite como máximo 65535 parámetros por sentencia (5 por fila) */
+    private static final int MAX_ROWS_PER_REPLACE = 65535 / 5;
+
+    private final DatabaseClient databaseClient;
+    private final StreamingProperties streamingProperties;
+    private final BatchProperties batchProperties;
+    private final SearchProperties searchProperties;
+
+    @Override
+    public Mono<TaskEntity> findById(Integer id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .one();
+    }
+
+    @Override
+    public Flux<TaskEntity> findByIds(Integer[] ids) {
+        return databaseClient.sql(SELECT_BY_IDS)
+                .bind("ids", ids)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TaskEntity> findAllByTodoListId(Integer todoListId) {
+        return databaseClient.sql(SELECT_ALL_BY_TODO_LIST)
+                .bind("todoListId", todoListId)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TaskEntity> findPageByTodoListId(Integer todoListId, Integer after, Integer limit) {
+        return databaseClient.sql(SELECT_PAGE_BY_TODO_LIST)
+                .bind("todoListId", todoListId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TaskEntity> findByTodoListId(Integer todoListId, TaskQuery query, Integer after, Integer limit) {
+        return filteredSpec(todoListId, query, after, limit)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TaskEntity> streamByTodoListId(Integer todoListId, TaskQuery query) {
+        return filteredSpec(todoListId, query, null, null)
+                .filter(statement -> statement.fetchSize(streamingProperties.fetchSize()))
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec filteredSpec(Integer todoListId, TaskQuery query, Integer after,
+                                                           Integer limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(filteredQuery(query, after != null, limit != null))
+                .bind("todoListId", todoListId);
+        if (query.completed() != null) {
+            spec = spec.bind("completed", query.completed());
+        }
+        if (query.dueAfter() != null) {
+            spec = spec.bind("dueAfter", query.dueAfter());
+        }
+        if (query.dueBefore() != null) {
+            spec = spec.bind("dueBefore", query.dueBefore());
+        }
+        if (query.namePrefix() != null) {
+            spec = spec.bind("namePrefix", escapeLike(query.namePrefix()) + "%");
+        }
+        if (after != null) {
+            spec = spec.bind("after", after);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec;
+    }
+
+    /* Solo se añaden las condiciones de los filtros presentes; los valores van siempre como parámetros */
+    static String filteredQuery(TaskQuery query, boolean keyset, boolean limited) {
+        StringBuilder sql = new StringBuilder(SELECT_ALL_BY_TODO_LIST);
+        if (query.completed() != null) {
+            sql.append(" AND completed = :completed");
+        }
+        if (query.dueAfter() != null) {
+            sql.append(" AND deadline >= :dueAfter");
+        }
+        if (query.dueBefore() != null) {
+            sql.append(" AND deadline < :dueBefore");
+        }
+        if (query.namePrefix() != null) {
+            sql.append(" AND name LIKE :namePrefix");
+        }
+        if (keyset) {
+            sql.append(" AND id > :after");
+        }
+        sql.append(" ORDER BY ").append(query.sort().column());
+        if (query.sort() != TaskQuery.Sort.ID) {
+            sql.append(", id");
+        }
+        if (limited) {
+            sql.append(" LIMIT :limit");
+        }
+        return sql.toString();
+    }
+
+    // El prefijo es literal: %, _ y \ del cliente no actúan como comodines
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Mono<TaskSearchResult> search(String text, Integer offset, Integer limit) {
+        return databaseClient.sql(SEARCH)
+                .bind("text", text)
+                .bind("candidates", searchProperties.maxCandidates())
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new SearchRow(TaskRowMapper.map(row),
+                        Boolean.TRUE.equals(row.get("truncated", Boolean.class))))
+                .all()
+                .collectList()
+                .map(rows -> new TaskSearchResult(
+                        rows.stream().map(SearchRow::task).toList(),
+                        rows.stream().anyMatch(SearchRow::truncated)));
+    }
+
+    private record SearchRow(TaskEntity task, boolean truncated) {
+    }
+
+    @Override
+    public Mono<TaskEntity> findByIdForUpdate(Integer id) {
+        return databaseClient.sql(SELECT_BY_ID_FOR_UPDATE)
+                .bind("id", id)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .one();
+    }
+
+    @Override
+    public Flux<TaskEntity> streamAllByTodoListId(Integer todoListId) {
+        return databaseClient.sql(SELECT_BY_TODO_LIST)
+                .filter(statement -> statement.fetchSize(streamingProperties.fetchSize()))
+                .bind("todoListId", todoListId)
+                .map((row, metadata) -> TaskRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<Integer> insertAll(Flux<TaskEntity> tasks) {
+        // Cinco arrays por bloque: el límite de parámetros de Postgres no acota su tamaño
+        return tasks.buffer(batchProperties.chunkSize())
+                .concatMap(this::insertChunk);
+    }
+
+    @Override
+    public Mono<TaskUpdate> replace(Integer id, TaskEntity task) {
+        Map<String, Parameter> assignments = new LinkedHashMap<>();
+        assignments.put("name", Parameter.fromOrEmpty(task.getName(), String.class));
+        assignments.put("description", Parameter.fromOrEmpty(task.getDescription(), String.class));
+        assignments.put("completed", Parameter.from(task.isCompleted()));
+        assignments.put("deadline", Parameter.fromOrEmpty(task.getDeadline(), LocalDateTime.class));
+        return UpdateReturning.execute(databaseClient, "tasks", id, assignments, "completed",
+                TaskRepositoryCustomImpl::mapUpdate);
+    }
+
+    @Override
+    public Mono<TaskUpdate> updateFields(Integer id, TaskPatch patch) {
+        Map<String, Parameter> assignments = new LinkedHashMap<>();
+        // Un Optional vacío es un campo enviado a null: se asigna NULL
+        if (patch.name() != null) {
+            assignments.put("name", Parameter.fromOrEmpty(patch.name().orElse(null), String.class));
+        }
+        if (patch.description() != null) {
+            assignments.put("description", Parameter.fromOrEmpty(patch.description().orElse(null), String.class));
+        }
+        if (patch.completed() != null) {
+            assignments.put("completed", Parameter.fromOrEmpty(patch.completed().orElse(null), Boolean.class));
+        }
+        if (patch.deadline() != null) {
+            assignments.put("deadline", Parameter.fromOrEmpty(patch.deadline().orElse(null), LocalDateTime.class));
+        }
+        return UpdateReturning.execute(databaseClient, "tasks", id, assignments, "completed",
+                TaskRepositoryCustomImpl::mapUpdate);
+    }
+
+    @Override
+    public Flux<TaskUpdate> replaceAll(List<TaskEntity> tasks) {
+        int chunkSize = Math.min(batchProperties.chunkSize(), MAX_ROWS_PER_REPLACE);
+        return Flux.fromIterable(tasks)
+                .buffer(chunkSize)
+                .concatMap(this::replaceChunk);
+    }
+
+    private Flux<TaskUpdate> replaceChunk(List<TaskEntity> chunk) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < chunk.size(); i++) {
+            // La primera fila fija los tipos de las columnas de VALUES
+            values.append(i == 0
+                    ? "(CAST(:id0 AS integer), CAST(:name0 AS text), CAST(:description0 AS text), "
+                    + "CAST(:completed0 AS boolean), CAST(:deadline0 AS timestamp))"
+                    : ", (:id" + i + ", :name" + i + ", :description" + i + ", :completed" + i + ", :deadline" + i + ")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(REPLACE_ALL.formatted(values));
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskEntity task = chunk.get(i);
+            spec = spec.bind("id" + i, task.getId())
+                    .bind("name" + i, Parameter.fromOrEmpty(task.getName(), String.class))
+                    .bind("description" + i, Parameter.fromOrEmpty(task.getDescription(), String.class))
+                    .bind("completed" + i, task.isCompleted())
+                    .bind("deadline" + i, Parameter.fromOrEmpty(task.getDeadline(), LocalDateTime.class));
+        }
+        return spec.map((row, metadata) -> mapUpdate(row)).all();
+    }
+
+    private static TaskUpdate mapUpdate(Row row) {
+        return new TaskUpdate(Boolean.TRUE.equals(row.get("previous_completed", Boolean.class)), TaskRowMapper.map(row));
+    }
+
+    private Flux<Integer> insertChunk(List<TaskEntity> chunk) {
+        return databaseClient.sql(INSERT_ALL)
+                .bind("names", chunk.stream().map(TaskEntity::getName).toArray(String[]::new))
+                .bind("descriptions", chunk.stream().map(TaskEntity::getDescription).toArray(String[]::new))
+                .bind("completed", chunk.stream().map(TaskEntity::isCompleted).toArray(Boolean[]::new))
+                .bind("deadlines", chunk.stream().map(TaskEntity::getDeadline).toArray(LocalDateTime[]::new))
+                .bind("todoListIds", chunk.stream().map(TaskEntity::getTodoListId).toArray(Integer[]::new))
+                .map((row, metadata) -> row.get("id", Integer.class))
+                .all();
+    }
+}
@@ -1,9 +1,17 @@
 package co.edu.emarrugo.todo_list_microservice.model.repository;
 
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface TodoListRepository extends ReactiveCrudRepository<TodoListEntity, Integer> {
-}
\ No newline at end of file
+public interface TodoListRepository extends ReactiveCrudRepository<TodoListEntity, Integer>, TodoListRepositoryCustom {
+    String DELETE_BY_ID = "DELETE FROM todo_lists WHERE id = :id";
+
+    @Modifying
+    @Query(DELETE_BY_ID)
+    Mono<Long> deleteAndCountById(Integer id);
+}
@@ -0,0 +1,26 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de la ruta caliente con mapeo explícito fila → entidad ({@code TodoListRowMapper}),
+ * sin pasar por el conversor reflexivo de Spring Data. Sustituye también a {@code findById} y {@code findAll}.
+ */
+public interface TodoListRepositoryCustom {
+    Mono<TodoListEntity> findById(Integer id);
+
+    Flux<TodoListEntity> findAll();
+
+    Flux<TodoListEntity> findByIds(Integer[] ids);
+
+    Flux<TodoListEntity> findPage(Integer after, Integer limit);
+
+    Mono<TodoListEntity> findWithTasksById(Integer id);
+
+    Flux<TodoListEntity> streamAll();
+
+    Mono<TodoListEntity> updateFields(Integer id, TodoListPatch patch);
+}
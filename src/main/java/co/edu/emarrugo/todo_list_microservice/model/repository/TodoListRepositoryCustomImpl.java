@@ -0,0 +1,110 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.StreamingProperties;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.mapper.TaskRowMapper;
+import co.edu.emarrugo.todo_list_microservice.model.repository.mapper.TodoListRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TodoListRepositoryCustomImpl implements TodoListRepositoryCustom {
+    /* Una sola consulta: la lista y sus tareas llegan en las mismas filas */
+    static final String SELECT_WITH_TASKS = """
+            SELECT l.id AS list_id, l.name AS list_name,
+                   t.id, t.name, t.description, t.completed, t.deadline, t.todo_list_id
+            FROM todo_lists l
+            LEFT JOIN tasks t ON t.todo_list_id = l.id
+            WHERE l.id = :id
+            ORDER BY t.id
+            """;
+    static final String SELECT_TODO_LISTS = "SELECT id, name FROM todo_lists";
+    static final String SELECT_BY_ID = SELECT_TODO_LISTS + " WHERE id = :id";
+    static final String SELECT_BY_IDS = SELECT_TODO_LISTS + " WHERE id = ANY(:ids)";
+    static final String SELECT_PAGE = SELECT_TODO_LISTS + " WHERE id > :after ORDER BY id LIMIT :limit";
+    static final String SELECT_ALL = SELECT_TODO_LISTS + " ORDER BY id";
+
+    private final DatabaseClient databaseClient;
+    private final StreamingProperties streamingProperties;
+
+    @Override
+    public Mono<TodoListEntity> findById(Integer id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map((row, metadata) -> TodoListRowMapper.map(row))
+                .one();
+    }
+
+    @Override
+    public Flux<TodoListEntity> findAll() {
+        return databaseClient.sql(SELECT_ALL)
+                .map((row, metadata) -> TodoListRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TodoListEntity> findByIds(Integer[] ids) {
+        return databaseClient.sql(SELECT_BY_IDS)
+                .bind("ids", ids)
+                .map((row, metadata) -> TodoListRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Flux<TodoListEntity> findPage(Integer after, Integer limit) {
+        return databaseClient.sql(SELECT_PAGE)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> TodoListRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Mono<TodoListEntity> findWithTasksById(Integer id) {
+        return databaseClient.sql(SELECT_WITH_TASKS)
+                .bind("id", id)
+                .map((row, metadata) -> new JoinedRow(
+                        row.get("list_id", Integer.class),
+                        row.get("list_name", String.class),
+                        row.get("id", Integer.class) != null ? TaskRowMapper.map(row) : null))
+                .all()
+                .reduceWith(() -> TodoListEntity.builder().tasks(new ArrayList<>()).build(), (todoList, joined) -> {
+                    todoList.setId(joined.todoListId());
+                    todoList.setName(joined.todoListName());
+                    if (joined.task() != null) {
+                        todoList.getTasks().add(joined.task());
+                    }
+                    return todoList;
+                })
+                .filter(todoList -> todoList.getId() != null);
+    }
+
+    @Override
+    public Flux<TodoListEntity> streamAll() {
+        return databaseClient.sql(SELECT_ALL)
+                .filter(statement -> statement.fetchSize(streamingProperties.fetchSize()))
+                .map((row, metadata) -> TodoListRowMapper.map(row))
+                .all();
+    }
+
+    @Override
+    public Mono<TodoListEntity> updateFields(Integer id, TodoListPatch patch) {
+        Map<String, Parameter> assignments = new LinkedHashMap<>();
+        if (patch.name() != null) {
+            assignments.put("name", Parameter.fromOrEmpty(patch.name().orElse(null), String.class));
+        }
+        return UpdateReturning.execute(databaseClient, "todo_lists", id, assignments, TodoListRowMapper::map);
+    }
+
+    private record JoinedRow(Integer todoListId, String todoListName, TaskEntity task) {
+    }
+}
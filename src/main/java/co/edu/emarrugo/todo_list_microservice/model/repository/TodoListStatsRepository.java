@@ -0,0 +1,20 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface TodoListStatsRepository {
+
+    /* Suma los incrementos a los contadores de la lista, creando la fila si no existe */
+    Mono<Void> applyDelta(Integer todoListId, long totalDelta, long completedDelta);
+
+    Mono<Void> deleteByTodoListId(Integer todoListId);
+
+    Mono<TodoListStats> findByTodoListId(Integer todoListId, LocalDateTime now);
+
+    /* Estadísticas de las listas con id > after, en orden de id */
+    Flux<TodoListStats> findPage(Integer after, Integer limit, LocalDateTime now);
+}
@@ -0,0 +1,69 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Construye un único UPDATE ... SET (solo columnas indicadas) ... RETURNING *.
+ * Con previousColumn devuelve además, con el prefijo previous_, el valor que tenía esa columna, en la misma
+ * sentencia: la fila se bloquea en una CTE con FOR UPDATE, así que es el último valor confirmado aunque otra
+ * transacción la haya modificado mientras se esperaba el bloqueo (como REPLACE_ALL de tareas).
+ * Los nombres de columna provienen siempre de constantes de los repositorios, nunca del cliente.
+ */
+final class UpdateReturning {
+
+    private UpdateReturning() {
+    }
+
+    static <T> Mono<T> execute(DatabaseClient databaseClient, String table, Integer id,
+                               Map<String, Parameter> assignments, Function<Row, T> mapper) {
+        return execute(databaseClient, table, id, assignments, null, mapper);
+    }
+
+    static <T> Mono<T> execute(DatabaseClient databaseClient, String table, Integer id,
+                               Map<String, Parameter> assignments, String previousColumn, Function<Row, T> mapper) {
+        if (assignments.isEmpty()) {
+            String previous = previousColumn == null ? "" : ", " + previousColumn + " AS previous_" + previousColumn;
+            return databaseClient.sql("SELECT *" + previous + " FROM " + table + " WHERE id = :id")
+                    .bind("id", id)
+                    .map((row, metadata) -> mapper.apply(row))
+                    .one();
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql(table, assignments.keySet(), previousColumn))
+                .bind("id", id);
+        for (Map.Entry<String, Parameter> assignment : assignments.entrySet()) {
+            spec = spec.bind(assignment.getKey(), assignment.getValue());
+        }
+        return spec.map((row, metadata) -> mapper.apply(row)).one();
+    }
+
+    static String sql(String table, Collection<String> columns) {
+        return sql(table, columns, null);
+    }
+
+    static String sql(String table, Collection<String> columns, String previousColumn) {
+        StringBuilder sql = new StringBuilder();
+        if (previousColumn != null) {
+            sql.append("WITH previous AS (SELECT id, ").append(previousColumn)
+                    .append(" FROM ").append(table).append(" WHERE id = :id FOR UPDATE) ");
+        }
+        sql.append("UPDATE ").append(table).append(" SET ");
+        String separator = "";
+        for (String column : columns) {
+            sql.append(separator).append(column).append(" = :").append(column);
+            separator = ", ";
+        }
+        if (previousColumn == null) {
+            return sql.append(" WHERE id = :id RETURNING *").toString();
+        }
+        return sql.append(" FROM previous p WHERE ").append(table).append(".id = p.id RETURNING ")
+                .append(table).append(".*, p.").append(previousColumn)
+                .append(" AS previous_").append(previousColumn).toString();
+    }
+}
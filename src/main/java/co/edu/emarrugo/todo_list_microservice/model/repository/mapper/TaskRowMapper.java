@@ -0,0 +1,24 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.mapper;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import io.r2dbc.spi.Row;
+
+import java.time.LocalDateTime;
+
+public final class TaskRowMapper {
+
+    private TaskRowMapper() {
+    }
+
+    public static TaskEntity map(Row row) {
+        Boolean completed = row.get("completed", Boolean.class);
+        return TaskEntity.builder()
+                .id(row.get("id", Integer.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .completed(Boolean.TRUE.equals(completed))
+                .deadline(row.get("deadline", LocalDateTime.class))
+                .todoListId(row.get("todo_list_id", Integer.class))
+                .build();
+    }
+}
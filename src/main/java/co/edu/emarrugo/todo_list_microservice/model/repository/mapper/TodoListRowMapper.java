@@ -0,0 +1,17 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.mapper;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import io.r2dbc.spi.Row;
+
+public final class TodoListRowMapper {
+
+    private TodoListRowMapper() {
+    }
+
+    public static TodoListEntity map(Row row) {
+        return TodoListEntity.builder()
+                .id(row.get("id", Integer.class))
+                .name(row.get("name", String.class))
+                .build();
+    }
+}
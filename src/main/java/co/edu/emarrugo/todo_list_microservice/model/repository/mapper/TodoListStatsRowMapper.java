@@ -0,0 +1,22 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.mapper;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
+import io.r2dbc.spi.Row;
+
+import java.time.LocalDateTime;
+
+public final class TodoListStatsRowMapper {
+
+    private TodoListStatsRowMapper() {
+    }
+
+    public static TodoListStats map(Row row) {
+        return new TodoListStats(
+                row.get("todo_list_id", Integer.class),
+                row.get("name", String.class),
+                row.get("total_tasks", Long.class),
+                row.get("completed_tasks", Long.class),
+                row.get("overdue_tasks", Long.class),
+                row.get("next_deadline", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,26 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import co.edu.emarrugo.todo_list_microservice.model.repository.ChangeFeed;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Sustituto en proceso de LISTEN/NOTIFY: solo ve los cambios de este nodo.
+ */
+public class InMemoryChangeFeed implements ChangeFeed {
+    private final Sinks.Many<TaskChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<Void> publish(TaskChangeEvent event) {
+        return Mono.fromRunnable(() -> sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))));
+    }
+
+    @Override
+    public Flux<TaskChangeEvent> events() {
+        return sink.asFlux();
+    }
+}
@@ -0,0 +1,145 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base de los repositorios en memoria: ids generados como una columna SERIAL y
+ * copias defensivas en cada lectura y escritura, igual que si las filas vinieran de Postgres.
+ */
+public abstract class InMemoryCrudRepository<T> implements ReactiveCrudRepository<T, Integer> {
+    protected final ConcurrentNavigableMap<Integer, T> rows = new ConcurrentSkipListMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    protected abstract Integer idOf(T entity);
+
+    protected abstract T copyWithId(T entity, Integer id);
+
+    protected T copy(T entity) {
+        return copyWithId(entity, idOf(entity));
+    }
+
+    protected Integer nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    protected Flux<T> copies(Iterable<T> entities) {
+        return Flux.fromIterable(entities).map(this::copy);
+    }
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        return Mono.fromSupplier(() -> {
+            Integer id = idOf(entity) != null ? idOf(entity) : nextId();
+            rows.put(id, copyWithId(entity, id));
+            @SuppressWarnings("unchecked")
+            S saved = (S) copyWithId(entity, id);
+            return saved;
+        });
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    /* Equivalente a WHERE id = ANY(:ids): sin orden garantizado ni duplicados */
+    public Flux<T> findByIds(Integer[] ids) {
+        return Flux.defer(() -> Flux.fromStream(Arrays.stream(ids).distinct())
+                .mapNotNull(rows::get)
+                .map(this::copy));
+    }
+
+    @Override
+    public Mono<T> findById(Integer id) {
+        return Mono.fromSupplier(() -> rows.get(id)).map(this::copy);
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Integer id) {
+        return Mono.fromSupplier(() -> rows.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return Flux.defer(() -> copies(rows.values()));
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<Integer> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<Integer> idStream) {
+        return Flux.from(idStream).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) rows.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(Integer id) {
+        return Mono.fromRunnable(() -> rows.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        return deleteById(idOf(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Integer> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(rows::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        return Mono.fromRunnable(() -> entities.forEach(entity -> rows.remove(idOf(entity))));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(rows::clear);
+    }
+
+    protected Mono<T> update(Integer id, UnaryOperator<T> change) {
+        return Mono.fromSupplier(() -> rows.computeIfPresent(id, (key, current) -> change.apply(copy(current))))
+                .map(this::copy);
+    }
+}
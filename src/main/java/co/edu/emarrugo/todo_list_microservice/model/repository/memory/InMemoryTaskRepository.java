@@ -0,0 +1,170 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskUpdate;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TaskRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+public class InMemoryTaskRepository extends InMemoryCrudRepository<TaskEntity> implements TaskRepository {
+    /* null: la búsqueda de texto recorre todas las tareas */
+    private final TaskSearchIndex searchIndex;
+
+    public InMemoryTaskRepository() {
+        this(null);
+    }
+
+    public InMemoryTaskRepository(TaskSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    protected Integer idOf(TaskEntity task) {
+        return task.getId();
+    }
+
+    @Override
+    protected TaskEntity copyWithId(TaskEntity task, Integer id) {
+        return TaskEntity.builder()
+                .id(id)
+                .name(task.getName())
+                .description(task.getDescription())
+                .completed(task.isCompleted())
+                .deadline(task.getDeadline())
+                .todoListId(task.getTodoListId())
+                .build();
+    }
+
+    @Override
+    public Flux<TaskEntity> findAllByTodoListId(Integer todoListId) {
+        return findAll().filter(task -> todoListId.equals(task.getTodoListId()));
+    }
+
+    @Override
+    public Flux<TaskEntity> findPageByTodoListId(Integer todoListId, Integer after, Integer limit) {
+        return Flux.defer(() -> copies(rows.tailMap(after, false).values()))
+                .filter(task -> todoListId.equals(task.getTodoListId()))
+                .take(limit);
+    }
+
+    @Override
+    public Flux<TaskEntity> findByTodoListId(Integer todoListId, TaskQuery query, Integer after, Integer limit) {
+        return Flux.defer(() -> copies(after != null ? rows.tailMap(after, false).values() : rows.values()))
+                .filter(task -> todoListId.equals(task.getTodoListId()) && query.matches(task))
+                .sort(query.sort().comparator())
+                .take(limit != null ? limit : Long.MAX_VALUE);
+    }
+
+    /* Puntúa todas las coincidencias: el resultado nunca está recortado */
+    @Override
+    public Mono<TaskSearchResult> search(String text, Integer offset, Integer limit) {
+        return Flux.defer(() -> {
+                    Set<String> terms = TaskSearchIndex.terms(text);
+                    if (terms.isEmpty()) {
+                        return Flux.<TaskEntity>empty();
+                    }
+                    Collection<TaskEntity> matches = searchIndex != null
+                            ? indexedMatches(terms)
+                            : rows.values().stream().filter(task -> TaskSearchIndex.containsAll(task, terms)).toList();
+                    return copies(TaskSearchIndex.ranked(matches, terms).stream().skip(offset).limit(limit).toList());
+                })
+                .collectList()
+                .map(tasks -> new TaskSearchResult(tasks, false));
+    }
+
+    private Collection<TaskEntity> indexedMatches(Set<String> terms) {
+        List<TaskEntity> matches = new ArrayList<>();
+        for (Integer id : searchIndex.candidates(terms)) {
+            TaskEntity task = rows.get(id);
+            if (task != null && TaskSearchIndex.containsAll(task, terms)) {
+                matches.add(task);
+            } else {
+                searchIndex.prune(id, terms, rows::get);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public <S extends TaskEntity> Mono<S> save(S entity) {
+        return searchIndex != null ? super.save(entity).doOnNext(searchIndex::index) : super.save(entity);
+    }
+
+    @Override
+    protected Mono<TaskEntity> update(Integer id, UnaryOperator<TaskEntity> change) {
+        return searchIndex != null ? super.update(id, change).doOnNext(searchIndex::index) : super.update(id, change);
+    }
+
+    @Override
+    public Mono<TaskEntity> findByIdForUpdate(Integer id) {
+        return findById(id);
+    }
+
+    @Override
+    public Mono<Long> deleteAllByTodoListId(Integer todoListId) {
+        return Mono.fromSupplier(() -> {
+            long before = rows.size();
+            rows.values().removeIf(task -> todoListId.equals(task.getTodoListId()));
+            return before - rows.size();
+        });
+    }
+
+    @Override
+    public Flux<TaskEntity> streamAllByTodoListId(Integer todoListId) {
+        return findAllByTodoListId(todoListId);
+    }
+
+    @Override
+    public Flux<TaskEntity> streamByTodoListId(Integer todoListId, TaskQuery query) {
+        return findByTodoListId(todoListId, query, null, null);
+    }
+
+    @Override
+    public Flux<Integer> insertAll(Flux<TaskEntity> tasks) {
+        return tasks.map(task -> copyWithId(task, null))
+                .concatMap(this::save)
+                .map(TaskEntity::getId);
+    }
+
+    @Override
+    public Mono<TaskUpdate> replace(Integer id, TaskEntity task) {
+        return updateWithPrevious(id, current -> {
+            current.setName(task.getName());
+            current.setDescription(task.getDescription());
+            current.setCompleted(task.isCompleted());
+            current.setDeadline(task.getDeadline());
+            return current;
+        });
+    }
+
+    @Override
+    public Flux<TaskUpdate> replaceAll(List<TaskEntity> tasks) {
+        return Flux.fromIterable(tasks)
+                .concatMap(task -> replace(task.getId(), task));
+    }
+
+    @Override
+    public Mono<TaskUpdate> updateFields(Integer id, TaskPatch patch) {
+        return updateWithPrevious(id, patch::applyTo);
+    }
+
+    private Mono<TaskUpdate> updateWithPrevious(Integer id, UnaryOperator<TaskEntity> change) {
+        return Mono.defer(() -> {
+            AtomicBoolean previousCompleted = new AtomicBoolean();
+            return update(id, current -> {
+                previousCompleted.set(current.isCompleted());
+                return change.apply(current);
+            }).map(updated -> new TaskUpdate(previousCompleted.get(), updated));
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class InMemoryTodoListRepository extends InMemoryCrudRepository<TodoListEntity> implements TodoListRepository {
+    private final InMemoryTaskRepository taskRepository;
+
+    @Override
+    protected Integer idOf(TodoListEntity todoList) {
+        return todoList.getId();
+    }
+
+    @Override
+    protected TodoListEntity copyWithId(TodoListEntity todoList, Integer id) {
+        return TodoListEntity.builder()
+                .id(id)
+                .name(todoList.getName())
+                .build();
+    }
+
+    @Override
+    public Flux<TodoListEntity> findPage(Integer after, Integer limit) {
+        return Flux.defer(() -> copies(rows.tailMap(after, false).values()))
+                .take(limit);
+    }
+
+    @Override
+    public Mono<Long> deleteAndCountById(Integer id) {
+        return Mono.fromSupplier(() -> rows.remove(id) != null ? 1L : 0L);
+    }
+
+    @Override
+    public Mono<TodoListEntity> findWithTasksById(Integer id) {
+        return findById(id)
+                .flatMap(todoList -> taskRepository.findAllByTodoListId(id)
+                        .collectList()
+                        .map(tasks -> {
+                            todoList.setTasks(tasks);
+                            return todoList;
+                        }));
+    }
+
+    @Override
+    public Flux<TodoListEntity> streamAll() {
+        return findAll();
+    }
+
+    @Override
+    public Mono<TodoListEntity> updateFields(Integer id, TodoListPatch patch) {
+        return update(id, current -> {
+            if (patch.name() != null) {
+                current.setName(patch.name().orElse(null));
+            }
+            return current;
+        });
+    }
+}
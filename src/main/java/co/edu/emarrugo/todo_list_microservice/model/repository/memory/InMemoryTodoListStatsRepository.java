@@ -0,0 +1,71 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListStatsRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class InMemoryTodoListStatsRepository implements TodoListStatsRepository {
+    private final InMemoryTodoListRepository todoListRepository;
+    private final InMemoryTaskRepository taskRepository;
+    private final Map<Integer, Counters> counters = new ConcurrentHashMap<>();
+
+    private record Counters(long total, long completed) {
+    }
+
+    @Override
+    public Mono<Void> applyDelta(Integer todoListId, long totalDelta, long completedDelta) {
+        return Mono.fromRunnable(() -> counters.merge(todoListId, new Counters(totalDelta, completedDelta),
+                (current, delta) -> new Counters(current.total() + delta.total(), current.completed() + delta.completed())));
+    }
+
+    @Override
+    public Mono<Void> deleteByTodoListId(Integer todoListId) {
+        return Mono.fromRunnable(() -> counters.remove(todoListId));
+    }
+
+    @Override
+    public Mono<TodoListStats> findByTodoListId(Integer todoListId, LocalDateTime now) {
+        return todoListRepository.findById(todoListId)
+                .flatMap(todoList -> stats(todoList, now));
+    }
+
+    @Override
+    public Flux<TodoListStats> findPage(Integer after, Integer limit, LocalDateTime now) {
+        return todoListRepository.findPage(after, limit)
+                .concatMap(todoList -> stats(todoList, now));
+    }
+
+    private Mono<TodoListStats> stats(TodoListEntity todoList, LocalDateTime now) {
+        Counters current = counters.getOrDefault(todoList.getId(), new Counters(0, 0));
+        return taskRepository.findAllByTodoListId(todoList.getId())
+                .filter(task -> !task.isCompleted())
+                .map(TaskEntity::getDeadline)
+                .filter(Objects::nonNull)
+                .collectList()
+                .map(deadlines -> new TodoListStats(
+                        todoList.getId(),
+                        todoList.getName(),
+                        current.total(),
+                        current.completed(),
+                        deadlines.stream().filter(deadline -> deadline.isBefore(now)).count(),
+                        nextDeadline(deadlines, now)));
+    }
+
+    private static LocalDateTime nextDeadline(List<LocalDateTime> deadlines, LocalDateTime now) {
+        return deadlines.stream()
+                .filter(deadline -> !deadline.isBefore(now))
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,37 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gestor de transacciones vacío para el backend en memoria: permite que los métodos
+ * {@code @Transactional} del servicio se ejecuten sin una conexión R2DBC.
+ */
+public class InMemoryTransactionManager extends AbstractReactiveTransactionManager {
+
+    @Override
+    protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+        return new Object();
+    }
+
+    @Override
+    protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                 TransactionDefinition definition) {
+        return Mono.empty();
+    }
+
+    @Override
+    protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                  GenericReactiveTransaction status) {
+        return Mono.empty();
+    }
+
+    @Override
+    protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                    GenericReactiveTransaction status) {
+        return Mono.empty();
+    }
+}
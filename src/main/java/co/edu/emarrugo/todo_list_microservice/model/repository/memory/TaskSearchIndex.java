@@ -0,0 +1,118 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido término → ids de tareas para la búsqueda de texto del backend en memoria.
+ * Tokeniza como la configuración 'simple' de Postgres (minúsculas, sin stemming) y puntúa con los
+ * pesos por defecto de ts_rank: cada aparición en el nombre vale 1.0 y en la descripción 0.4.
+ * Las altas y cambios se indexan al escribir; las bajas y los términos que una tarea ya no contiene
+ * se depuran al consultar, comprobando cada candidato contra la fila actual.
+ */
+public class TaskSearchIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+
+    private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+
+    public void index(TaskEntity task) {
+        // compute serializa por término las altas con la depuración de prune
+        for (String term : terms(task)) {
+            postings.compute(term, (key, ids) -> {
+                Set<Integer> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                result.add(task.getId());
+                return result;
+            });
+        }
+    }
+
+    /* Ids que el índice asocia a todos los términos; pueden incluir entradas obsoletas */
+    public Set<Integer> candidates(Set<String> terms) {
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String term : terms) {
+            lists.add(postings.getOrDefault(term, Set.of()));
+        }
+        // Se intersecta partiendo de la lista más corta
+        lists.sort(Comparator.comparingInt(Set::size));
+        if (lists.isEmpty()) {
+            return Set.of();
+        }
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    /* Quita el id de los términos que la fila actual (null si se borró) ya no contiene */
+    public void prune(Integer id, Set<String> terms, Function<Integer, TaskEntity> currentRow) {
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                TaskEntity current = currentRow.apply(id);
+                if (current == null || !terms(current).contains(key)) {
+                    ids.remove(id);
+                }
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public static Set<String> terms(String text) {
+        return new LinkedHashSet<>(tokens(text));
+    }
+
+    public static boolean containsAll(TaskEntity task, Set<String> terms) {
+        return terms(task).containsAll(terms);
+    }
+
+    /* Mayor relevancia primero; a igualdad, por id como ORDER BY rank DESC, id */
+    public static List<TaskEntity> ranked(Collection<TaskEntity> matches, Set<String> terms) {
+        record Hit(TaskEntity task, double rank) {
+        }
+        return matches.stream()
+                .map(task -> new Hit(task, rank(task, terms)))
+                .sorted(Comparator.comparingDouble(Hit::rank).reversed()
+                        .thenComparing(hit -> hit.task().getId()))
+                .map(Hit::task)
+                .toList();
+    }
+
+    static double rank(TaskEntity task, Set<String> terms) {
+        return NAME_WEIGHT * occurrences(tokens(task.getName()), terms)
+                + DESCRIPTION_WEIGHT * occurrences(tokens(task.getDescription()), terms);
+    }
+
+    private static Set<String> terms(TaskEntity task) {
+        Set<String> terms = terms(task.getName());
+        terms.addAll(tokens(task.getDescription()));
+        return terms;
+    }
+
+    private static long occurrences(List<String> tokens, Set<String> terms) {
+        return tokens.stream().filter(terms::contains).count();
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,151 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchLoaderProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Agrupa los findById concurrentes: los ids pedidos durante una ventana corta (o hasta llenar el lote)
+ * se resuelven con una sola consulta WHERE id = ANY(:ids) y el resultado se reparte entre los suscriptores.
+ * Cada ruta primario/réplica tiene su propio lote.
+ */
+public class BatchLoader<V> {
+    public static final String BATCH_SIZE_NAME = "todolist.batchloader.size";
+
+    private final Function<Integer, Mono<V>> single;
+    private final Function<List<Integer>, Flux<V>> batchQuery;
+    private final Function<V, Integer> idOf;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final DistributionSummary batchSize;
+    private final Map<Object, Batch<V>> pending = new HashMap<>();
+
+    private BatchLoader(Function<Integer, Mono<V>> single, Function<List<Integer>, Flux<V>> batchQuery,
+                        Function<V, Integer> idOf, Duration window, int maxBatchSize, Scheduler scheduler,
+                        DistributionSummary batchSize) {
+        this.single = single;
+        this.batchQuery = batchQuery;
+        this.idOf = idOf;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+    }
+
+    /* Sin agrupación: cada id se consulta por separado */
+    public static <V> BatchLoader<V> disabled(Function<Integer, Mono<V>> single) {
+        return new BatchLoader<>(single, null, null, null, 1, null, null);
+    }
+
+    public static <V> BatchLoader<V> from(String name, BatchLoaderProperties properties,
+                                          Function<List<Integer>, Flux<V>> batchQuery, Function<V, Integer> idOf,
+                                          MeterRegistry meterRegistry) {
+        return from(name, properties, batchQuery, idOf, meterRegistry, Schedulers.parallel());
+    }
+
+    static <V> BatchLoader<V> from(String name, BatchLoaderProperties properties,
+                                   Function<List<Integer>, Flux<V>> batchQuery, Function<V, Integer> idOf,
+                                   MeterRegistry meterRegistry, Scheduler scheduler) {
+        DistributionSummary batchSize = DistributionSummary.builder(BATCH_SIZE_NAME)
+                .description("Ids resolved per batched query")
+                .tag("loader", name)
+                .register(meterRegistry);
+        return new BatchLoader<>(null, batchQuery, idOf, properties.window(), properties.maxBatchSize(),
+                scheduler, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return batchQuery != null;
+    }
+
+    public Mono<V> load(Integer id) {
+        if (!isEnabled()) {
+            return single.apply(id);
+        }
+        return Mono.deferContextual(context -> {
+            Object route = context.getOrDefault(ReadWriteRouting.ROUTE_KEY, ReadWriteRouting.Route.PRIMARY);
+            Sinks.One<V> sink = Sinks.one();
+            Batch<V> full = null;
+            synchronized (pending) {
+                Batch<V> batch = pending.get(route);
+                if (batch == null) {
+                    batch = new Batch<>(context);
+                    pending.put(route, batch);
+                    Batch<V> scheduled = batch;
+                    scheduler.schedule(() -> flush(route, scheduled), window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                batch.add(id, sink);
+                if (batch.waiters.size() >= maxBatchSize) {
+                    pending.remove(route);
+                    full = batch;
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return sink.asMono();
+        });
+    }
+
+    private void flush(Object route, Batch<V> batch) {
+        synchronized (pending) {
+            pending.remove(route, batch);
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<V> batch) {
+        if (!batch.dispatched.compareAndSet(false, true)) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(batch.waiters.keySet());
+        batchSize.record(ids.size());
+        batchQuery.apply(ids)
+                .contextWrite(batch.context)
+                .collectMap(idOf)
+                .subscribe(found -> batch.waiters.forEach((id, sinks) -> {
+                            V value = found.get(id);
+                            sinks.forEach(sink -> {
+                                if (value != null) {
+                                    sink.tryEmitValue(value);
+                                } else {
+                                    sink.tryEmitEmpty();
+                                }
+                            });
+                        }),
+                        error -> batch.waiters.values()
+                                .forEach(sinks -> sinks.forEach(sink -> sink.tryEmitError(error))));
+    }
+
+    private static final class Batch<V> {
+        private final ContextView context;
+        private final Map<Integer, List<Sinks.One<V>>> waiters = new LinkedHashMap<>();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+
+        private Batch(ContextView context) {
+            this.context = context;
+        }
+
+        private void add(Integer id, Sinks.One<V> sink) {
+            waiters.computeIfAbsent(id, ignored -> new ArrayList<>()).add(sink);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Invalidación de las cachés locales ({@link EntityCache}, {@link ResponseCache}) desde una escritura.
+ * Se invalida ya, para descartar las cargas en curso, y otra vez al terminar la transacción, para descartar
+ * lo leído entre medias con el estado todavía sin confirmar. Fuera de una transacción basta con la primera.
+ */
+final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    static Mono<Void> nowAndAfterCompletion(Runnable invalidation) {
+        return Mono.fromRunnable(invalidation)
+                .then(TransactionSynchronizationManager.forCurrentTransaction()
+                        .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                        .doOnNext(synchronizationManager -> synchronizationManager.registerSynchronization(
+                                new TransactionSynchronization() {
+                                    @Override
+                                    public Mono<Void> afterCompletion(int status) {
+                                        return Mono.fromRunnable(invalidation);
+                                    }
+                                }))
+                        .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                        .then());
+    }
+}
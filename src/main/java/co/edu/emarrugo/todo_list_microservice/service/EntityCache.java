@@ -0,0 +1,122 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caché de lectura por id delante de los repositorios (Caffeine, W-TinyLFU).
+ * Guarda el futuro de la carga, de modo que las lecturas concurrentes de una misma clave
+ * comparten la consulta y nunca bloquean el event loop. Los resultados vacíos no se guardan.
+ * Las escrituras solo invalidan, ya y al terminar su transacción (ver {@link CacheInvalidation}), y solo
+ * se llena con lecturas del primario, como {@link ResponseCache}.
+ */
+public class EntityCache<V> implements MeterBinder {
+    public static final String METRIC_PREFIX = "todolist.cache";
+
+    private final String name;
+    private final AsyncCache<Integer, V> cache;
+
+    private EntityCache(String name, AsyncCache<Integer, V> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    public static <V> EntityCache<V> disabled(String name) {
+        return new EntityCache<>(name, null);
+    }
+
+    public static <V> EntityCache<V> from(String name, CacheProperties.Spec spec) {
+        if (spec == null || !spec.enabled()) {
+            return disabled(name);
+        }
+        AsyncCache<Integer, V> cache = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.ttl())
+                .recordStats()
+                .buildAsync();
+        return new EntityCache<>(name, cache);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Mono<V> get(Integer id, Function<Integer, Mono<V>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        // Un cliente fijado al primario no lee la caché: podría servirle un valor anterior a su propia escritura.
+        // Las cargas que la llenan leen del primario, para no guardar una fila atrasada de una réplica.
+        // suppressCancel: cancelar a un suscriptor no debe cancelar la carga compartida
+        return Mono.deferContextual(context -> ReadWriteRouting.isPinnedToPrimary(context)
+                ? loader.apply(id)
+                : Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key)
+                        .contextWrite(ReadWriteRouting::pinPrimary)
+                        .contextWrite(context)
+                        .toFuture()), true));
+    }
+
+    public Mono<Void> invalidate(Integer id) {
+        if (cache == null || id == null) {
+            return Mono.empty();
+        }
+        return CacheInvalidation.nowAndAfterCompletion(() -> cache.synchronous().invalidate(id));
+    }
+
+    public Mono<Void> invalidateIf(Predicate<V> predicate) {
+        if (cache == null) {
+            return Mono.empty();
+        }
+        return CacheInvalidation.nowAndAfterCompletion(
+                () -> cache.asMap().values().removeIf(future -> isStaleOrMatches(future, predicate)));
+    }
+
+    // Una carga en curso puede acabar devolviendo una entidad afectada: también se descarta
+    private static <V> boolean isStaleOrMatches(CompletableFuture<V> future, Predicate<V> predicate) {
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return true;
+        }
+        V value = future.join();
+        return value == null || predicate.test(value);
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.synchronous().stats() : CacheStats.empty();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this, entityCache -> entityCache.stats().hitCount())
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this, entityCache -> entityCache.stats().missCount())
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", this, entityCache -> entityCache.stats().evictionCount())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, entityCache -> entityCache.estimatedSize())
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private long estimatedSize() {
+        return cache != null ? cache.synchronous().estimatedSize() : 0;
+    }
+}
@@ -0,0 +1,212 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya codificadas (y opcionalmente comprimidas con gzip) por recurso, id y formato.
+ * El tamaño se limita por bytes. Cada recurso tiene una versión (una franja de contadores compartida
+ * por hash): las escrituras la incrementan y una carga que empezó con una versión anterior no se guarda,
+ * así una lectura concurrente con una escritura de este nodo no deja bytes obsoletos en la caché, siempre
+ * que lea del primario (ConditionalResponses fija al primario las cargas que llenan la caché).
+ * Como {@link EntityCache}, es local a cada nodo y no hay invalidación entre nodos: las escrituras hechas
+ * en otro nodo se ven al vencer el ttl. Con el mismo retraso, {@link #collectionETag(String)} da un ETag para
+ * las respuestas que no se guardan (páginas, estadísticas) sin cargarlas ni codificarlas.
+ */
+public class ResponseCache implements MeterBinder {
+    public static final String METRIC_PREFIX = "todolist.response-cache";
+    private static final int VERSION_STRIPES = 1024;
+    // Coste aproximado de la clave, la entrada y las cabeceras además de los cuerpos
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    public enum Resource {
+        TODO_LIST, TASK, TODO_LIST_WITH_TASKS
+    }
+
+    /* todoListId: lista a la que pertenece el recurso, para invalidarlo al borrar la lista */
+    public record Entry(byte[] body, String eTag, byte[] gzipBody, String gzipETag, Integer todoListId) {
+    }
+
+    public record Version(long global, long resource) {
+    }
+
+    private record Key(Resource resource, Integer id, String format) {
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final boolean gzip;
+    private final long gzipMinBytes;
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final Set<String> formats = ConcurrentHashMap.newKeySet();
+    private final Duration ttl;
+    // Cambia en cada arranque: un ETag de colección de otro nodo o de antes de reiniciar nunca coincide
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong writes = new AtomicLong();
+
+    private ResponseCache(Cache<Key, Entry> cache, boolean gzip, long gzipMinBytes, Duration ttl) {
+        this.cache = cache;
+        this.gzip = gzip;
+        this.gzipMinBytes = gzipMinBytes;
+        this.ttl = ttl;
+    }
+
+    public static ResponseCache disabled() {
+        return new ResponseCache(null, false, 0, Duration.ZERO);
+    }
+
+    public static ResponseCache from(CacheProperties.Responses properties) {
+        if (properties == null || !properties.enabled()) {
+            return disabled();
+        }
+        Cache<Key, Entry> cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher((Key key, Entry entry) -> weightOf(entry))
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        return new ResponseCache(cache, properties.gzip(), properties.gzipMinSize().toBytes(), properties.ttl());
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Entry get(Resource resource, Integer id, String format) {
+        return cache != null ? cache.getIfPresent(new Key(resource, id, format)) : null;
+    }
+
+    public Version version(Resource resource, Integer id) {
+        return new Version(globalVersion.get(), versions.get(stripeOf(resource, id)));
+    }
+
+    /*
+     * ETag de las colecciones en el formato dado: cambia con cualquier escritura de este nodo y, como mucho, una
+     * vez por ttl, que acota el retraso con el que se ven las escrituras de otros nodos y el paso del tiempo
+     * (tareas que vencen). Debe leerse antes de cargar el cuerpo. null si la caché está deshabilitada.
+     */
+    public String collectionETag(String format) {
+        if (cache == null) {
+            return null;
+        }
+        long period = System.currentTimeMillis() / ttl.toMillis();
+        return "\"" + epoch + "-" + writes.get() + "-" + period + "-" + Integer.toHexString(format.hashCode()) + "\"";
+    }
+
+    /* La compresión solo se hace si la entrada va a guardarse: sin caché no compensa comprimir en cada petición */
+    public Entry entry(byte[] body, String eTag, Integer todoListId) {
+        if (cache == null || !gzip || body.length < gzipMinBytes) {
+            return new Entry(body, eTag, null, null, todoListId);
+        }
+        return new Entry(body, eTag, gzip(body), eTag.substring(0, eTag.length() - 1) + "-gzip\"", todoListId);
+    }
+
+    public void put(Resource resource, Integer id, String format, Version version, Entry entry) {
+        if (cache == null || !version.equals(version(resource, id))) {
+            return;
+        }
+        Key key = new Key(resource, id, format);
+        formats.add(format);
+        cache.put(key, entry);
+        // Si una escritura cambió la versión entre la comprobación y el put, la entrada se retira
+        if (!version.equals(version(resource, id))) {
+            cache.invalidate(key);
+        }
+    }
+
+    public Mono<Void> invalidate(Resource resource, Integer id) {
+        if (cache == null || id == null) {
+            return Mono.empty();
+        }
+        return CacheInvalidation.nowAndAfterCompletion(() -> {
+            writes.incrementAndGet();
+            versions.incrementAndGet(stripeOf(resource, id));
+            formats.forEach(format -> cache.invalidate(new Key(resource, id, format)));
+        });
+    }
+
+    /* Borrado de una lista: sus tareas en caché no se conocen por id, se buscan por lista */
+    public Mono<Void> invalidateTodoList(Integer todoListId) {
+        if (cache == null) {
+            return Mono.empty();
+        }
+        return CacheInvalidation.nowAndAfterCompletion(() -> {
+            writes.incrementAndGet();
+            globalVersion.incrementAndGet();
+            cache.asMap().values().removeIf(entry -> todoListId.equals(entry.todoListId()));
+        });
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    /* Aplica ya los desalojos pendientes (Caffeine los hace de forma asíncrona) */
+    public void cleanUp() {
+        if (cache != null) {
+            cache.cleanUp();
+        }
+    }
+
+    public long weightedSize() {
+        if (cache == null) {
+            return 0;
+        }
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this, responseCache -> responseCache.stats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this, responseCache -> responseCache.stats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", this,
+                        responseCache -> responseCache.stats().evictionCount())
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, ResponseCache::weightedSize)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static int stripeOf(Resource resource, Integer id) {
+        return Math.floorMod(Objects.hash(resource, id), VERSION_STRIPES);
+    }
+
+    private static int weightOf(Entry entry) {
+        long bytes = (long) entry.body().length + (entry.gzipBody() != null ? entry.gzipBody().length : 0)
+                + ENTRY_OVERHEAD_BYTES;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,51 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Temporizadores por método de {@link TodoListService}, medidos desde la suscripción
+ * hasta la señal terminal (completado, error o cancelación).
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+    public static final String TIMER_NAME = "todolist.service";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> Mono<T> timed(String method, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(method, signal)));
+        });
+    }
+
+    public <T> Flux<T> timed(String method, Flux<T> source) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(method, signal)));
+        });
+    }
+
+    private Timer timer(String method, SignalType signal) {
+        return Timer.builder(TIMER_NAME)
+                .tag("method", method)
+                .tag("outcome", outcome(signal))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Deduplica lecturas idénticas concurrentes: mientras una consulta para (operación, id) está en curso,
+ * los demás suscriptores comparten su resultado. Al terminar se retira, así que no se reutiliza nada obsoleto.
+ * La ruta primario/réplica forma parte de la clave para no servir a un cliente fijado al primario
+ * el resultado leído de una réplica.
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+    public static final String COUNTER_NAME = "todolist.singleflight.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private record Key(String operation, Object id, Object route) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String operation, Object id, Supplier<Mono<T>> supplier) {
+        return Mono.deferContextual(context -> {
+            Key key = new Key(operation, id, context.getOrDefault(ReadWriteRouting.ROUTE_KEY, null));
+            AtomicReference<Mono<Object>> self = new AtomicReference<>();
+            Mono<Object> flight = Mono.defer(supplier)
+                    .<Object>map(value -> value)
+                    .contextWrite(context)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(flight);
+
+            Mono<Object> existing = inFlight.putIfAbsent(key, flight);
+            counter(operation, existing == null ? "leader" : "coalesced").increment();
+            return (Mono<T>) (existing == null ? flight : existing);
+        });
+    }
+
+    /* Las colecciones se materializan para poder compartirlas entre suscriptores */
+    public <T> Flux<T> executeMany(String operation, Object id, Supplier<Flux<T>> supplier) {
+        return execute(operation, id, () -> supplier.get().collectList())
+                .flatMapIterable(items -> items);
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Reads executed (leader) or served from an identical in-flight read (coalesced)")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
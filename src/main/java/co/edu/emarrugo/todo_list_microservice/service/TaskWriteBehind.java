@@ -0,0 +1,258 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.WriteBehindProperties;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Escritura diferida de PUT /api/tasks/{id} (opcional, todo-list.write-behind.enabled).
+ * Cada actualización se confirma al entrar en el búfer, que guarda solo el último estado por tarea;
+ * el búfer se vacía en UPDATE por bloques cada flushInterval o al alcanzar flushSize.
+ * Con maxPending tareas sin escribir (pendientes o en vaciado) las nuevas se rechazan con
+ * {@link BufferFullException} en lugar de esperar: si la base de datos no responde, el búfer no crece
+ * ni las peticiones reintentan vaciados en bucle. Al parar la aplicación se vacía después de que el
+ * servidor web deje de aceptar peticiones.
+ * Las lecturas por id de este nodo ven las escrituras pendientes; las de otros nodos, tras el vaciado.
+ */
+@Slf4j
+@Component
+public class TaskWriteBehind implements SmartLifecycle {
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WriteBehindProperties properties;
+    private final TransactionalOperator transactionalOperator;
+    private final Map<Integer, TaskEntity> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, TaskEntity> flushing = new ConcurrentHashMap<>();
+    // Plazas ocupadas: una por entrada de pending y por tarea de un bloque en vaciado
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Sinks.Many<Boolean> flushRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Counter coalescedCounter;
+    private final Counter flushedCounter;
+    private volatile Function<List<TaskEntity>, Mono<Void>> flusher;
+    private volatile Disposable flushLoop;
+
+    public TaskWriteBehind(WriteBehindProperties properties, TransactionalOperator transactionalOperator,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionalOperator = transactionalOperator;
+        this.coalescedCounter = Counter.builder("todolist.writebehind.coalesced")
+                .description("Buffered task updates superseded by a later update before being flushed")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("todolist.writebehind.flushed")
+                .description("Task updates written to the database by the write-behind buffer")
+                .register(meterRegistry);
+        Gauge.builder("todolist.writebehind.pending", pending, Map::size)
+                .description("Task updates waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /* Escritura real de un bloque; se ejecuta dentro de una transacción */
+    public void flushWith(Function<List<TaskEntity>, Mono<Void>> flusher) {
+        this.flusher = flusher;
+    }
+
+    public Mono<Void> submit(TaskEntity task) {
+        return Mono.defer(() -> {
+            boolean[] coalesced = {false};
+            // compute es atómico por id: la reserva de plaza y el alta no se separan
+            TaskEntity accepted = pending.compute(task.getId(), (id, current) -> {
+                if (current != null) {
+                    coalesced[0] = true;
+                    return task;
+                }
+                return tryReserve() ? task : null;
+            });
+            if (accepted == null) {
+                flushRequests.tryEmitNext(Boolean.TRUE);
+                return Mono.error(new BufferFullException(properties.maxPending()));
+            }
+            if (coalesced[0]) {
+                coalescedCounter.increment();
+            }
+            if (pending.size() >= properties.flushSize()) {
+                flushRequests.tryEmitNext(Boolean.TRUE);
+            }
+            return Mono.empty();
+        });
+    }
+
+    /*
+     * Aplica un cambio parcial sobre el estado aún no escrito de la tarea (pendiente o en vaciado) y deja
+     * el resultado en el búfer, de forma atómica con submit y con el vaciado: el cambio se escribe después
+     * de cualquier bloque en curso y no hay que vaciar el búfer dentro de la transacción de la petición.
+     * Vacío si la tarea no tiene escrituras diferidas sin confirmar.
+     */
+    public Mono<TaskEntity> update(Integer id, UnaryOperator<TaskEntity> change) {
+        return Mono.defer(() -> {
+            boolean[] rejected = {false};
+            TaskEntity updated = pending.compute(id, (key, current) -> {
+                if (current != null) {
+                    return change.apply(current);
+                }
+                TaskEntity inFlight = flushing.get(key);
+                if (inFlight == null) {
+                    return null;
+                }
+                if (!tryReserve()) {
+                    rejected[0] = true;
+                    return null;
+                }
+                return change.apply(inFlight);
+            });
+            if (rejected[0]) {
+                return Mono.error(new BufferFullException(properties.maxPending()));
+            }
+            return Mono.justOrEmpty(updated);
+        });
+    }
+
+    /* Último estado aceptado y aún no escrito en la base de datos */
+    public Optional<TaskEntity> pending(Integer id) {
+        TaskEntity task = pending.get(id);
+        return Optional.ofNullable(task != null ? task : flushing.get(id));
+    }
+
+    /*
+     * La tarea se borró: deja de leerse como pendiente aunque su bloque se esté escribiendo
+     * (ese UPDATE no encuentra la fila o la borra después el DELETE, que espera a su bloqueo)
+     */
+    public void discard(Integer id) {
+        if (pending.remove(id) != null) {
+            reserved.decrementAndGet();
+        }
+        flushing.remove(id);
+    }
+
+    /* Falla si falla algún bloque; sus tareas vuelven al búfer para el siguiente vaciado */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            List<TaskEntity> drained = drain();
+            if (drained.isEmpty()) {
+                return Mono.empty();
+            }
+            return Flux.fromIterable(drained)
+                    .buffer(properties.flushSize())
+                    .concatMapDelayError(this::flushChunk)
+                    .then();
+        });
+    }
+
+    private List<TaskEntity> drain() {
+        List<TaskEntity> drained = new ArrayList<>(pending.size());
+        for (TaskEntity task : pending.values()) {
+            // Si llegó un estado más nuevo entre la lectura y la retirada, se queda para el siguiente vaciado.
+            // La tarea pasa a flushing dentro del compute: nunca deja de ser visible como pendiente
+            pending.computeIfPresent(task.getId(), (id, current) -> {
+                if (current != task) {
+                    return current;
+                }
+                flushing.put(id, task);
+                drained.add(task);
+                return null;
+            });
+        }
+        return drained;
+    }
+
+    private Mono<Void> flushChunk(List<TaskEntity> chunk) {
+        return transactionalOperator.transactional(flusher.apply(chunk))
+                .doOnSuccess(ignored -> flushedCounter.increment(chunk.size()))
+                .doOnError(e -> log.warn("Write-behind flush of {} tasks failed, requeueing", chunk.size(), e))
+                .doFinally(signal -> settle(chunk, signal == SignalType.ON_COMPLETE));
+    }
+
+    /*
+     * Libera las plazas del bloque; si no se escribió, cada tarea vuelve a pending salvo que haya otra más
+     * nueva o se haya borrado. Sale de flushing dentro del compute para que update() la vea en algún mapa
+     */
+    private void settle(List<TaskEntity> chunk, boolean written) {
+        for (TaskEntity task : chunk) {
+            if (written) {
+                flushing.remove(task.getId(), task);
+                reserved.decrementAndGet();
+                continue;
+            }
+            pending.compute(task.getId(), (id, current) -> {
+                if (!flushing.remove(id, task) || current != null) {
+                    reserved.decrementAndGet();
+                    return current;
+                }
+                return task;
+            });
+        }
+    }
+
+    private boolean tryReserve() {
+        int maxPending = properties.maxPending();
+        return reserved.getAndUpdate(count -> count < maxPending ? count + 1 : count) < maxPending;
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || flushLoop != null) {
+            return;
+        }
+        flushLoop = Flux.merge(Flux.interval(properties.flushInterval()).map(tick -> Boolean.TRUE), flushRequests.asFlux())
+                .onBackpressureDrop()
+                .concatMap(request -> flush().onErrorResume(e -> Mono.empty()), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable loop = flushLoop;
+        if (loop == null) {
+            return;
+        }
+        loop.dispose();
+        flushLoop = null;
+        try {
+            flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.error("Write-behind shutdown flush failed, {} task updates not written", pending.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flushLoop != null;
+    }
+
+    /* Se detiene después del servidor web (fases DEFAULT_PHASE - 1024/2048) y antes de cerrar el pool */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /* Búfer lleno: el handler responde 503 con Retry-After (LoadSheddingFilter) */
+    public static class BufferFullException extends RuntimeException {
+        public BufferFullException(int maxPending) {
+            super("Write-behind buffer full (" + maxPending + " task updates pending)");
+        }
+    }
+}
@@ -1,83 +1,365 @@
 package co.edu.emarrugo.todo_list_microservice.service;
 
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.model.dto.DeleteResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.KeysetPage;
+import co.edu.emarrugo.todo_list_microservice.model.dto.MultiGetResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskUpdate;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.ChangeFeed;
 import co.edu.emarrugo.todo_list_microservice.model.repository.TaskRepository;
 import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListStatsRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
 public class TodoListService {
+    /* Eventos pendientes por suscriptor del canal de cambios antes de descartar los más antiguos */
+    private static final int CHANGES_BUFFER = 256;
+
     private final TodoListRepository todoListRepository;
     private final TaskRepository taskRepository;
+    private final TodoListStatsRepository todoListStatsRepository;
+    private final ChangeFeed changeFeed;
+    private final EntityCache<TodoListEntity> todoListCache;
+    private final EntityCache<TaskEntity> taskCache;
+    private final BatchLoader<TodoListEntity> todoListLoader;
+    private final BatchLoader<TaskEntity> taskLoader;
+    private final ServiceMetrics serviceMetrics;
+    private final SingleFlight singleFlight;
+    private final TaskWriteBehind taskWriteBehind;
+    private final ResponseCache responseCache;
+
+    @PostConstruct
+    void registerWriteBehindFlusher() {
+        taskWriteBehind.flushWith(this::flushTaskUpdates);
+    }
 
     public Flux<TodoListEntity> getAllTodoLists() {
-        return todoListRepository.findAll();
+        return serviceMetrics.timed("getAllTodoLists", todoListRepository.findAll()
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Flux<TodoListEntity> streamAllTodoLists() {
+        return serviceMetrics.timed("streamAllTodoLists", todoListRepository.streamAll()
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<KeysetPage<TodoListEntity>> getTodoListsPage(Integer after, int limit) {
+        return serviceMetrics.timed("getTodoListsPage", todoListRepository.findPage(after, limit + 1)
+                .collectList()
+                .map(rows -> KeysetPage.of(rows, limit, TodoListEntity::getId))
+                .contextWrite(ReadWriteRouting::preferReplica));
     }
 
     public Mono<TodoListEntity> getTodoListById(Integer id) {
-        return todoListRepository.findById(id);
+        return serviceMetrics.timed("getTodoListById", singleFlight.execute("getTodoListById", id,
+                        () -> todoListCache.get(id, todoListLoader::load))
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<MultiGetResult<TodoListEntity>> getTodoListsByIds(List<Integer> ids) {
+        return serviceMetrics.timed("getTodoListsByIds", todoListRepository.findByIds(ids.toArray(Integer[]::new))
+                .collectList()
+                .map(rows -> MultiGetResult.of(ids, rows, TodoListEntity::getId))
+                .contextWrite(ReadWriteRouting::preferReplica));
     }
 
     public Mono<TodoListEntity> createTodoList(TodoListEntity todoList) {
-        return todoListRepository.save(todoList);
+        // La lista nueva cambia las páginas de listas: la invalidación avanza su ETag de colección
+        return serviceMetrics.timed("createTodoList", todoListRepository.save(todoList)
+                .flatMap(savedTodoList -> invalidateTodoListCaches(savedTodoList.getId()).thenReturn(savedTodoList)));
     }
 
     public Mono<TodoListEntity> updateTodoList(Integer id, TodoListEntity todoList) {
-        return todoListRepository.findById(id)
-                .flatMap(existingTodoList -> {
-                    existingTodoList.setName(todoList.getName());
-                    return todoListRepository.save(existingTodoList);
-                });
+        TodoListPatch replacement = TodoListPatch.builder().name(todoList.getName()).build();
+        return serviceMetrics.timed("updateTodoList", todoListRepository.updateFields(id, replacement)
+                .flatMap(updatedTodoList -> invalidateTodoListCaches(id).thenReturn(updatedTodoList)));
+    }
+
+    public Mono<TodoListEntity> patchTodoList(Integer id, TodoListPatch patch) {
+        return serviceMetrics.timed("patchTodoList", todoListRepository.updateFields(id, patch)
+                .flatMap(updatedTodoList -> invalidateTodoListCaches(id).thenReturn(updatedTodoList)));
     }
 
-    public Mono<Void> deleteTodoList(Integer id) {
-        return taskRepository.findAllByTodoListId(id)
-                .flatMap(taskRepository::delete)
-                .then(todoListRepository.deleteById(id));
+    @Transactional
+    public Mono<DeleteResult> deleteTodoList(Integer id) {
+        return serviceMetrics.timed("deleteTodoList", taskRepository.deleteAllByTodoListId(id)
+                .flatMap(deletedTasks -> todoListRepository.deleteAndCountById(id)
+                        .filter(deletedTodoLists -> deletedTodoLists > 0)
+                        .map(deletedTodoLists -> new DeleteResult(deletedTodoLists, deletedTasks)))
+                .flatMap(deleteResult -> todoListStatsRepository.deleteByTodoListId(id)
+                        .then(changeFeed.publish(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, id, null)))
+                        .then(responseCache.invalidateTodoList(id))
+                        .then(todoListCache.invalidate(id))
+                        .then(taskCache.invalidateIf(task -> id.equals(task.getTodoListId())))
+                        .thenReturn(deleteResult)));
     }
 
     public Flux<TaskEntity> getTasksByTodoListId(Integer todoListId) {
-        return taskRepository.findAllByTodoListId(todoListId);
+        return serviceMetrics.timed("getTasksByTodoListId", singleFlight.executeMany("getTasksByTodoListId", todoListId,
+                        () -> taskRepository.findAllByTodoListId(todoListId))
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    /* Solo viajan y se mapean las filas que cumplen los filtros */
+    public Flux<TaskEntity> getTasksByTodoListId(Integer todoListId, TaskQuery query) {
+        return serviceMetrics.timed("getFilteredTasksByTodoListId", taskRepository.findByTodoListId(todoListId, query, null, null)
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Flux<TaskEntity> streamTasksByTodoListId(Integer todoListId) {
+        return serviceMetrics.timed("streamTasksByTodoListId", taskRepository.streamAllByTodoListId(todoListId)
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Flux<TaskEntity> streamTasksByTodoListId(Integer todoListId, TaskQuery query) {
+        return serviceMetrics.timed("streamFilteredTasksByTodoListId", taskRepository.streamByTodoListId(todoListId, query)
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<KeysetPage<TaskEntity>> getTasksPageByTodoListId(Integer todoListId, Integer after, int limit) {
+        return serviceMetrics.timed("getTasksPageByTodoListId", taskRepository.findPageByTodoListId(todoListId, after, limit + 1)
+                .collectList()
+                .map(rows -> KeysetPage.of(rows, limit, TaskEntity::getId))
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<KeysetPage<TaskEntity>> getTasksPageByTodoListId(Integer todoListId, TaskQuery query, Integer after,
+                                                                 int limit) {
+        return serviceMetrics.timed("getFilteredTasksPageByTodoListId",
+                taskRepository.findByTodoListId(todoListId, query, after, limit + 1)
+                        .collectList()
+                        .map(rows -> KeysetPage.of(rows, limit, TaskEntity::getId))
+                        .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<KeysetPage<TaskEntity>> searchTasks(String text, int offset, int limit) {
+        return serviceMetrics.timed("searchTasks", taskRepository.search(text, offset, limit + 1)
+                .map(result -> KeysetPage.atOffset(result.tasks(), offset, limit, result.truncated()))
+                .contextWrite(ReadWriteRouting::preferReplica));
     }
 
     public Mono<TaskEntity> getTaskById(Integer id) {
-        return taskRepository.findById(id);
+        return serviceMetrics.timed("getTaskById", loadTask(id));
+    }
+
+    // Lee primero las escrituras diferidas pendientes de este nodo
+    private Mono<TaskEntity> loadTask(Integer id) {
+        return Mono.defer(() -> Mono.justOrEmpty(taskWriteBehind.pending(id)))
+                .switchIfEmpty(singleFlight.execute("getTaskById", id, () -> taskCache.get(id, taskLoader::load))
+                        .contextWrite(ReadWriteRouting::preferReplica));
     }
 
+    public Mono<MultiGetResult<TaskEntity>> getTasksByIds(List<Integer> ids) {
+        return serviceMetrics.timed("getTasksByIds", taskRepository.findByIds(ids.toArray(Integer[]::new))
+                .collectList()
+                .map(rows -> MultiGetResult.of(ids, rows, TaskEntity::getId))
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    @Transactional
     public Mono<TaskEntity> createTask(TaskEntity task) {
-        return taskRepository.save(task);
+        return serviceMetrics.timed("createTask", taskRepository.save(task)
+                .flatMap(savedTask -> countTask(savedTask, 1)
+                        .then(publishChange(TaskChangeEvent.Type.CREATED, savedTask))
+                        .then(invalidateTaskCaches(savedTask))
+                        .thenReturn(savedTask)));
+    }
+
+    @Transactional
+    public Flux<Integer> createTasks(Flux<TaskEntity> tasks) {
+        return serviceMetrics.timed("createTasks", Flux.defer(() -> {
+            Map<Integer, long[]> deltas = new HashMap<>();
+            Flux<TaskEntity> counted = tasks.doOnNext(task -> {
+                if (task.getTodoListId() != null) {
+                    long[] delta = deltas.computeIfAbsent(task.getTodoListId(), ignored -> new long[2]);
+                    delta[0]++;
+                    delta[1] += task.isCompleted() ? 1 : 0;
+                }
+            });
+            return taskRepository.insertAll(counted)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(deltas.entrySet())
+                            .concatMap(entry -> todoListStatsRepository.applyDelta(
+                                            entry.getKey(), entry.getValue()[0], entry.getValue()[1])
+                                    .then(changeFeed.publish(new TaskChangeEvent(
+                                            TaskChangeEvent.Type.CREATED, entry.getKey(), null)))
+                                    .then(responseCache.invalidate(
+                                            ResponseCache.Resource.TODO_LIST_WITH_TASKS, entry.getKey())))
+                            .thenMany(Flux.empty())));
+        }));
     }
 
+    @Transactional
     public Mono<TaskEntity> updateTask(Integer id, TaskEntity task) {
-        return taskRepository.findById(id)
-                .flatMap(existingTask -> {
-                    existingTask.setName(task.getName());
-                    existingTask.setDescription(task.getDescription());
-                    existingTask.setCompleted(task.isCompleted());
-                    existingTask.setDeadline(task.getDeadline());
-                    return taskRepository.save(existingTask);
-                });
+        return serviceMetrics.timed("updateTask", taskRepository.replace(id, task)
+                .flatMap(this::applyStoredUpdate));
+    }
+
+    public boolean isTaskWriteBehindEnabled() {
+        return taskWriteBehind.isEnabled();
+    }
+
+    /* Reemplazo diferido: se confirma al entrar en el búfer de escritura y se escribe en el siguiente vaciado */
+    public Mono<TaskEntity> bufferTaskUpdate(Integer id, TaskEntity task) {
+        return serviceMetrics.timed("bufferTaskUpdate", loadTask(id)
+                .map(currentTask -> TaskEntity.builder()
+                        .id(id)
+                        .name(task.getName())
+                        .description(task.getDescription())
+                        .completed(task.isCompleted())
+                        .deadline(task.getDeadline())
+                        .todoListId(currentTask.getTodoListId())
+                        .build())
+                .flatMap(updatedTask -> taskWriteBehind.submit(updatedTask)
+                        .then(invalidateTaskCaches(updatedTask))
+                        .thenReturn(updatedTask)));
+    }
+
+    @Transactional
+    public Mono<TaskEntity> patchTask(Integer id, TaskPatch patch) {
+        // Con una escritura diferida sin confirmar, el cambio se aplica sobre ella en el búfer: escribirlo
+        // directamente en la base de datos dejaría que el vaciado posterior lo sobrescribiera
+        return serviceMetrics.timed("patchTask", taskWriteBehind.update(id, patch::applyTo)
+                .flatMap(bufferedTask -> invalidateTaskCaches(bufferedTask).thenReturn(bufferedTask))
+                .switchIfEmpty(Mono.defer(() -> patchStoredTask(id, patch))));
     }
 
+    private Mono<TaskEntity> patchStoredTask(Integer id, TaskPatch patch) {
+        return taskRepository.updateFields(id, patch)
+                .flatMap(this::applyStoredUpdate);
+    }
+
+    // El UPDATE devuelve también el estado anterior: no hace falta leer y bloquear la fila antes
+    private Mono<TaskEntity> applyStoredUpdate(TaskUpdate update) {
+        TaskEntity updatedTask = update.task();
+        return countCompletionChange(update)
+                .then(publishChange(TaskChangeEvent.Type.UPDATED, updatedTask))
+                .then(invalidateTaskCaches(updatedTask))
+                .thenReturn(updatedTask);
+    }
+
+    @Transactional
     public Mono<Void> deleteTask(Integer id) {
-        return taskRepository.deleteById(id);
+        return serviceMetrics.timed("deleteTask", Mono.fromRunnable(() -> taskWriteBehind.discard(id))
+                .then(taskRepository.findByIdForUpdate(id))
+                .flatMap(previousTask -> taskRepository.deleteById(id)
+                        .then(countTask(previousTask, -1))
+                        .then(publishChange(TaskChangeEvent.Type.DELETED, previousTask))
+                        .then(invalidateTaskCaches(previousTask))));
+    }
+
+    /*
+     * Sin temporizador: es un flujo abierto mientras el cliente siga conectado. Cada suscriptor tiene su
+     * propio búfer acotado para que uno lento no frene el flujo compartido: si se llena se descartan los
+     * eventos más antiguos y el cliente recibe un RESYNC antes del siguiente.
+     */
+    public Flux<TaskChangeEvent> getTaskChanges(Integer todoListId) {
+        return Flux.defer(() -> {
+            AtomicBoolean dropped = new AtomicBoolean();
+            return changeFeed.events()
+                    .filter(event -> event.todoListId() == null || todoListId.equals(event.todoListId()))
+                    .map(event -> event.todoListId() != null ? event : TaskChangeEvent.resync(todoListId))
+                    .onBackpressureBuffer(CHANGES_BUFFER, event -> dropped.set(true), BufferOverflowStrategy.DROP_OLDEST)
+                    .concatMapIterable(event -> dropped.getAndSet(false)
+                            ? List.of(TaskChangeEvent.resync(todoListId), event)
+                            : List.of(event), 1);
+        });
+    }
+
+    public Mono<TodoListStats> getTodoListStats(Integer todoListId) {
+        return serviceMetrics.timed("getTodoListStats", todoListStatsRepository.findByTodoListId(todoListId, LocalDateTime.now())
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    public Mono<KeysetPage<TodoListStats>> getTodoListStatsPage(Integer after, int limit) {
+        return serviceMetrics.timed("getTodoListStatsPage", todoListStatsRepository.findPage(after, limit + 1, LocalDateTime.now())
+                .collectList()
+                .map(rows -> KeysetPage.of(rows, limit, TodoListStats::todoListId))
+                .contextWrite(ReadWriteRouting::preferReplica));
     }
 
     public Mono<TodoListEntity> getTodoListWithTasks(Integer id) {
-        return todoListRepository.findById(id)
-                .flatMap(todoListEntity -> taskRepository.findAllByTodoListId(id)
-                        .collectList()
-                        .map(tasks -> {
-                            todoListEntity.setTasks(tasks);
-                            return todoListEntity;
-                        }));
+        return serviceMetrics.timed("getTodoListWithTasks", singleFlight.execute("getTodoListWithTasks", id,
+                        () -> todoListRepository.findWithTasksById(id))
+                .contextWrite(ReadWriteRouting::preferReplica));
+    }
+
+    // Mantenimiento incremental de todo_list_stats, en la misma transacción que la escritura
+    private Mono<Void> countTask(TaskEntity task, int sign) {
+        if (task.getTodoListId() == null) {
+            return Mono.empty();
+        }
+        return todoListStatsRepository.applyDelta(task.getTodoListId(), sign, task.isCompleted() ? sign : 0);
+    }
+
+    private Mono<Void> publishChange(TaskChangeEvent.Type type, TaskEntity task) {
+        if (task.getTodoListId() == null) {
+            return Mono.empty();
+        }
+        return changeFeed.publish(new TaskChangeEvent(type, task.getTodoListId(), task.getId()));
     }
 
-}
\ No newline at end of file
+    private Mono<Void> countCompletionChange(TaskUpdate update) {
+        TaskEntity updatedTask = update.task();
+        if (update.previousCompleted() == updatedTask.isCompleted() || updatedTask.getTodoListId() == null) {
+            return Mono.empty();
+        }
+        return todoListStatsRepository.applyDelta(updatedTask.getTodoListId(), 0, updatedTask.isCompleted() ? 1 : -1);
+    }
+
+    // Entidades y respuestas ya codificadas que dejan de ser válidas tras la escritura. Se invalidan en lugar
+    // de guardar el resultado: dentro de una transacción aún no está confirmado y podría deshacerse
+    private Mono<Void> invalidateTodoListCaches(Integer todoListId) {
+        return todoListCache.invalidate(todoListId)
+                .then(responseCache.invalidate(ResponseCache.Resource.TODO_LIST, todoListId))
+                .then(responseCache.invalidate(ResponseCache.Resource.TODO_LIST_WITH_TASKS, todoListId));
+    }
+
+    private Mono<Void> invalidateTaskCaches(TaskEntity task) {
+        return taskCache.invalidate(task.getId())
+                .then(responseCache.invalidate(ResponseCache.Resource.TASK, task.getId()))
+                .then(responseCache.invalidate(ResponseCache.Resource.TODO_LIST_WITH_TASKS, task.getTodoListId()));
+    }
+
+    // Vaciado del búfer de escritura diferida: TaskWriteBehind lo ejecuta dentro de una transacción
+    private Mono<Void> flushTaskUpdates(List<TaskEntity> tasks) {
+        return taskRepository.replaceAll(tasks)
+                .collectList()
+                .flatMap(updates -> {
+                    Map<Integer, Long> completedDeltas = new HashMap<>();
+                    for (TaskUpdate update : updates) {
+                        TaskEntity task = update.task();
+                        if (task.getTodoListId() != null && update.previousCompleted() != task.isCompleted()) {
+                            completedDeltas.merge(task.getTodoListId(), task.isCompleted() ? 1L : -1L, Long::sum);
+                        }
+                    }
+                    return Flux.fromIterable(completedDeltas.entrySet())
+                            .filter(entry -> entry.getValue() != 0)
+                            .concatMap(entry -> todoListStatsRepository.applyDelta(entry.getKey(), 0, entry.getValue()))
+                            .thenMany(Flux.fromIterable(updates))
+                            .concatMap(update -> publishChange(TaskChangeEvent.Type.UPDATED, update.task())
+                                    .then(invalidateTaskCaches(update.task())))
+                            .then();
+                });
+    }
+}
@@ -0,0 +1,28 @@
+-- Tablas base. IF NOT EXISTS: en bases creadas antes de las migraciones (baseline 0) ya existen
+CREATE TABLE IF NOT EXISTS todo_lists (
+    id   SERIAL PRIMARY KEY,
+    name TEXT
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id           SERIAL PRIMARY KEY,
+    name         TEXT,
+    description  TEXT,
+    completed    BOOLEAN NOT NULL DEFAULT FALSE,
+    deadline     TIMESTAMP,
+    todo_list_id INTEGER
+);
+
+-- Al borrar una lista Postgres borra sus tareas; se añade aparte para cubrir también las tablas ya existentes.
+-- NOT VALID: en esas tablas pueden quedar tareas de listas ya borradas y no se tocan. La FK se comprueba ya
+-- en cada escritura nueva y V5 valida las filas existentes cuando no queda ninguna
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_tasks_todo_list') THEN
+        ALTER TABLE tasks
+            ADD CONSTRAINT fk_tasks_todo_list
+            FOREIGN KEY (todo_list_id) REFERENCES todo_lists (id) ON DELETE CASCADE
+            NOT VALID;
+    END IF;
+END
+$$;
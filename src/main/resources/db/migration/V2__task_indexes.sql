@@ -0,0 +1,12 @@
+-- Tareas de una lista (findAllByTodoListId, páginas por clave id > :after, DELETE por lista y la FK)
+CREATE INDEX IF NOT EXISTS idx_tasks_todo_list_id
+    ON tasks (todo_list_id, id);
+
+-- Filtro por estado dentro de una lista
+CREATE INDEX IF NOT EXISTS idx_tasks_todo_list_completed
+    ON tasks (todo_list_id, completed);
+
+-- Vencimientos de tareas pendientes; las completadas no se consultan por fecha
+CREATE INDEX IF NOT EXISTS idx_tasks_deadline_open
+    ON tasks (deadline)
+    WHERE NOT completed;
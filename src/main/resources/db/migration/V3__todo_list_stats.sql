@@ -0,0 +1,21 @@
+-- Contadores por lista mantenidos por TodoListService en la misma transacción que cada escritura de tareas
+CREATE TABLE IF NOT EXISTS todo_list_stats (
+    todo_list_id    INTEGER PRIMARY KEY REFERENCES todo_lists (id) ON DELETE CASCADE,
+    total_tasks     BIGINT NOT NULL DEFAULT 0,
+    completed_tasks BIGINT NOT NULL DEFAULT 0
+);
+
+-- Tareas pendientes con vencimiento: sirve el recuento de vencidas y el próximo vencimiento
+CREATE INDEX IF NOT EXISTS idx_tasks_open_deadline
+    ON tasks (todo_list_id, deadline)
+    WHERE NOT completed AND deadline IS NOT NULL;
+
+-- Carga inicial a partir de las tareas existentes
+INSERT INTO todo_list_stats (todo_list_id, total_tasks, completed_tasks)
+SELECT todo_list_id, count(*), count(*) FILTER (WHERE completed)
+FROM tasks
+WHERE todo_list_id IS NOT NULL
+GROUP BY todo_list_id
+ON CONFLICT (todo_list_id) DO UPDATE
+SET total_tasks = EXCLUDED.total_tasks,
+    completed_tasks = EXCLUDED.completed_tasks;
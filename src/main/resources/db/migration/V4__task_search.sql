@@ -0,0 +1,12 @@
+-- Búsqueda de texto (GET /api/tasks/search) sobre nombre (peso A) y descripción (peso B).
+-- Configuración 'simple': sin stemming ni stopwords, igual que el índice invertido del backend en memoria.
+-- La columna generada reescribe la tabla al añadirse: en bases grandes, aplicar en una ventana de mantenimiento.
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+                || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search
+    ON tasks USING GIN (search_vector);
@@ -0,0 +1,23 @@
+-- Valida la FK que V1 añade como NOT VALID. VALIDATE CONSTRAINT solo bloquea la tabla en SHARE UPDATE EXCLUSIVE,
+-- así que no detiene las lecturas ni las escrituras mientras recorre las filas.
+-- Las tareas de listas ya borradas no se borran aquí: si las hay, la FK queda sin validar (sigue aplicándose a las
+-- escrituras nuevas) y se avisa. El operador decide si borrarlas o reasignarlas y después ejecuta
+-- ALTER TABLE tasks VALIDATE CONSTRAINT fk_tasks_todo_list;
+DO $$
+DECLARE
+    orphan_tasks BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_tasks_todo_list' AND NOT convalidated) THEN
+        SELECT count(*) INTO orphan_tasks
+        FROM tasks t
+        WHERE t.todo_list_id IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM todo_lists l WHERE l.id = t.todo_list_id);
+        IF orphan_tasks = 0 THEN
+            ALTER TABLE tasks VALIDATE CONSTRAINT fk_tasks_todo_list;
+        ELSE
+            RAISE WARNING 'fk_tasks_todo_list left NOT VALID: % tasks reference todo lists that no longer exist',
+                orphan_tasks;
+        END IF;
+    END IF;
+END
+$$;
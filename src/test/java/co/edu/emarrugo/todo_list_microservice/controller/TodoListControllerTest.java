@@ -1,24 +1,38 @@
 package co.edu.emarrugo.todo_list_microservice.controller;
 
 import co.edu.emarrugo.todo_list_microservice.handler.Handler;
+import co.edu.emarrugo.todo_list_microservice.handler.LoadSheddingFilter;
+import co.edu.emarrugo.todo_list_microservice.handler.ReadYourWritesFilter;
+import co.edu.emarrugo.todo_list_microservice.model.config.AdaptivePoolController;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReplicaProperties;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.service.TaskWriteBehind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -29,6 +43,9 @@ class TodoListControllerTest {
     @Mock
     private Handler handler;
 
+    @Spy
+    private LoadSheddingFilter loadSheddingFilter = new LoadSheddingFilter(Optional.empty());
+
     @InjectMocks
     private TodoListController todoListController;
 
@@ -323,4 +340,231 @@ class TodoListControllerTest {
 
         verify(handler, times(1)).deleteTask(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("TC-12: Verificar endpoint para crear tareas en bloque")
+    void itShouldCreateTasksInBatch() {
+        // GIVEN
+        Mono<ServerResponse> responseBuilder = ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1, 2));
+
+        when(handler.createTasks(any())).thenReturn(responseBuilder);
+
+        // WHEN / THEN
+        webTestClient.post()
+                .uri("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(taskEntity, taskEntity))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Integer.class)
+                .contains(1, 2);
+
+        verify(handler, times(1)).createTasks(any());
+        verify(handler, never()).createTask(any());
+    }
+
+    @Test
+    @DisplayName("TC-13: Verificar endpoint para actualizar parcialmente una tarea")
+    void itShouldPatchTask() {
+        // GIVEN
+        Mono<ServerResponse> responseBuilder = ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskEntity);
+
+        when(handler.patchTask(any())).thenReturn(responseBuilder);
+
+        // WHEN / THEN
+        webTestClient.patch()
+                .uri("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"completed\": true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskEntity.class)
+                .isEqualTo(taskEntity);
+
+        verify(handler, times(1)).patchTask(any());
+        verify(handler, never()).updateTask(any());
+    }
+
+    @Test
+    @DisplayName("TC-14: Verificar rechazo 503 con Retry-After cuando el pool está saturado")
+    void itShouldShedLoadWhenPoolIsOverloaded() {
+        // GIVEN
+        AdaptivePoolController poolController = mock(AdaptivePoolController.class);
+        when(poolController.isOverloaded()).thenReturn(true);
+        when(poolController.getRetryAfterSeconds()).thenReturn(2L);
+        TodoListController sheddingController =
+                new TodoListController(handler, new LoadSheddingFilter(Optional.of(poolController)));
+        WebTestClient sheddingClient = WebTestClient.bindToRouterFunction(sheddingController.todoListRoutes()).build();
+
+        // WHEN / THEN
+        sheddingClient.get()
+                .uri("/api/todolists/1/withTasks")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "2");
+
+        verify(handler, never()).getTodoListWithTasks(any());
+    }
+
+    @Test
+    @DisplayName("TC-15: Verificar que una escritura fija las lecturas del cliente al primario")
+    void itShouldPinReadsToPrimaryAfterWrite() {
+        // GIVEN
+        WebTestClient routingClient = routingClient();
+
+        when(handler.createTodoList(any())).thenReturn(ServerResponse.ok().bodyValue(todoListEntity));
+        when(handler.getTodoListById(any())).thenReturn(Mono.deferContextual(context -> ServerResponse.ok()
+                .bodyValue(context.getOrDefault(ReadWriteRouting.ROUTE_KEY, ReadWriteRouting.Route.REPLICA).toString())));
+
+        // WHEN
+        String pin = pinPrimary(routingClient);
+
+        // THEN
+        routingClient.get()
+                .uri("/api/todolists/1")
+                .cookie(ReadYourWritesFilter.PIN_COOKIE, pin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo(ReadWriteRouting.Route.PRIMARY.toString());
+
+        routingClient.get()
+                .uri("/api/todolists/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo(ReadWriteRouting.Route.REPLICA.toString());
+    }
+
+    @Test
+    @DisplayName("TC-16: Verificar endpoint del canal de cambios de una lista")
+    void itShouldStreamTaskChanges() {
+        // GIVEN
+        Mono<ServerResponse> responseBuilder = ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.just(ServerSentEvent.builder(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, 1, 1))
+                                .event("UPDATED")
+                                .build()),
+                        new ParameterizedTypeReference<ServerSentEvent<TaskChangeEvent>>() {
+                        });
+
+        when(handler.getTaskChanges(any())).thenReturn(responseBuilder);
+
+        // WHEN / THEN
+        webTestClient.get()
+                .uri("/api/todolists/1/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(TaskChangeEvent.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, 1, 1))
+                .verifyComplete();
+
+        verify(handler, times(1)).getTaskChanges(any());
+    }
+
+    @Test
+    @DisplayName("TC-17: Verificar que /api/tasks/search no se enruta como una tarea por ID")
+    void itShouldRouteTaskSearch() {
+        // GIVEN
+        Mono<ServerResponse> responseBuilder = ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(taskEntity));
+
+        when(handler.searchTasks(any())).thenReturn(responseBuilder);
+
+        // WHEN / THEN
+        webTestClient.get()
+                .uri("/api/tasks/search?q=tarea")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskEntity.class)
+                .hasSize(1)
+                .contains(taskEntity);
+
+        verify(handler, times(1)).searchTasks(any());
+        verify(handler, never()).getTaskById(any());
+    }
+
+    @Test
+    @DisplayName("TC-18: Verificar rechazo 503 con Retry-After cuando el búfer de escritura diferida está lleno")
+    void itShouldRejectWritesWhenWriteBehindBufferIsFull() {
+        // GIVEN
+        when(handler.updateTask(any())).thenReturn(Mono.error(new TaskWriteBehind.BufferFullException(10)));
+
+        // WHEN / THEN
+        webTestClient.put()
+                .uri("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskEntity)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "1");
+    }
+
+    @Test
+    @DisplayName("TC-19: Verificar que el primario fijado llega al cuerpo de los listados, suscrito al escribirlo")
+    void itShouldPinCollectionBodiesToPrimaryAfterWrite() {
+        // GIVEN
+        WebTestClient routingClient = routingClient();
+
+        when(handler.createTodoList(any())).thenReturn(ServerResponse.ok().bodyValue(todoListEntity));
+        // Como en el servicio: la ruta se decide al suscribirse el Flux del cuerpo, no al construir la respuesta
+        when(handler.getAllTodoLists(any())).thenAnswer(invocation -> ServerResponse.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(Flux.deferContextual(context -> Flux.just(
+                                context.getOrDefault(ReadWriteRouting.ROUTE_KEY, ReadWriteRouting.Route.REPLICA).toString()))
+                        .contextWrite(ReadWriteRouting::preferReplica), String.class));
+
+        // WHEN
+        String pin = pinPrimary(routingClient);
+
+        // THEN
+        routingClient.get()
+                .uri("/api/todolists")
+                .cookie(ReadYourWritesFilter.PIN_COOKIE, pin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo(ReadWriteRouting.Route.PRIMARY.toString());
+
+        routingClient.get()
+                .uri("/api/todolists")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo(ReadWriteRouting.Route.REPLICA.toString());
+    }
+
+    private WebTestClient routingClient() {
+        ReplicaProperties replicaProperties = new ReplicaProperties(
+                List.of(new ReplicaProperties.Endpoint("replica-1", 5432)),
+                ReplicaProperties.Balancing.ROUND_ROBIN,
+                Duration.ofSeconds(5));
+        return WebTestClient.bindToRouterFunction(todoListController.todoListRoutes())
+                .webFilter(new ReadYourWritesFilter(replicaProperties))
+                .build();
+    }
+
+    private static String pinPrimary(WebTestClient routingClient) {
+        return routingClient.post()
+                .uri("/api/todolists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TodoListEntity())
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().exists(ReadYourWritesFilter.PIN_COOKIE)
+                .returnResult(TodoListEntity.class)
+                .getResponseCookies()
+                .getFirst(ReadYourWritesFilter.PIN_COOKIE)
+                .getValue();
+    }
+}
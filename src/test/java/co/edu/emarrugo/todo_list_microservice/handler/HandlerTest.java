@@ -1,7 +1,16 @@
 package co.edu.emarrugo.todo_list_microservice.handler;
 
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.model.dto.DeleteResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.KeysetPage;
+import co.edu.emarrugo.todo_list_microservice.model.dto.MultiGetResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.service.ResponseCache;
 import co.edu.emarrugo.todo_list_microservice.service.TodoListService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,9 +18,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.server.EntityResponse;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -19,10 +32,16 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -33,6 +52,15 @@ class HandlerTest {
     @Mock
     private TodoListService todoListService;
 
+    @Spy
+    private WireFormats wireFormats = new WireFormats(Jackson2ObjectMapperBuilder.json().build());
+
+    @Spy
+    private ResponseCache responseCache = ResponseCache.disabled();
+
+    @Spy
+    private ConditionalResponses conditionalResponses = new ConditionalResponses(wireFormats, responseCache);
+
     @InjectMocks
     private Handler handler;
 
@@ -161,18 +189,35 @@ class HandlerTest {
     @DisplayName("TH-06: Verificar método handler para eliminar lista de tareas")
     void itShouldDeleteTodoList() {
         // GIVEN
-        when(todoListService.deleteTodoList(1)).thenReturn(Mono.empty());
+        when(todoListService.deleteTodoList(1)).thenReturn(Mono.just(new DeleteResult(1, 1)));
 
         // WHEN
         Mono<ServerResponse> response = handler.deleteTodoList(mockRequest);
 
         // THEN
         StepVerifier.create(response)
-                .expectNextMatches(serverResponse -> serverResponse.statusCode().is2xxSuccessful())
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                serverResponse instanceof EntityResponse)
                 .verifyComplete();
         verify(todoListService, times(1)).deleteTodoList(1);
     }
 
+    @Test
+    @DisplayName("TH-13: Verificar método handler para eliminar lista no existente")
+    void itShouldReturnNotFoundWhenDeletingMissingTodoList() {
+        // GIVEN
+        when(todoListService.deleteTodoList(1)).thenReturn(Mono.empty());
+
+        // WHEN
+        Mono<ServerResponse> response = handler.deleteTodoList(mockRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 404)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("TH-07: Verificar método handler para obtener tareas por ID de lista")
     void itShouldGetTasksByTodoListId() {
@@ -293,4 +338,600 @@ class HandlerTest {
                 .verifyComplete();
         verify(todoListService, times(1)).getTodoListWithTasks(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("TH-14: Verificar paginación por cursor de listas de tareas")
+    void itShouldGetTodoListsPage() {
+        // GIVEN
+        MockServerRequest pageRequest = MockServerRequest.builder()
+                .queryParam("limit", "1")
+                .queryParam("after", PageCursor.encode(0))
+                .build();
+        when(todoListService.getTodoListsPage(0, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(todoListEntity), 1)));
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getAllTodoLists(pageRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                PageCursor.encode(1).equals(serverResponse.headers().getFirst(Handler.NEXT_CURSOR_HEADER)))
+                .verifyComplete();
+        verify(todoListService, never()).getAllTodoLists();
+    }
+
+    @Test
+    @DisplayName("TH-15: Verificar rechazo de cursor inválido")
+    void itShouldRejectInvalidCursor() {
+        // GIVEN
+        MockServerRequest pageRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("after", "no-es-un-cursor")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasksByTodoListId(pageRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                .verifyComplete();
+        verifyNoInteractions(todoListService);
+    }
+
+    @Test
+    @DisplayName("TH-16: Verificar transmisión NDJSON de tareas por ID de lista")
+    void itShouldStreamTasksAsNdjson() {
+        // GIVEN
+        MockServerRequest streamRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .build();
+        when(todoListService.streamTasksByTodoListId(1)).thenReturn(Flux.just(taskEntity));
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasksByTodoListId(streamRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType()))
+                .verifyComplete();
+        verify(todoListService, never()).getTasksByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TH-17: Verificar creación masiva de tareas en una lista")
+    void itShouldCreateTasksInTodoList() {
+        // GIVEN
+        TaskEntity otherTask = TaskEntity.builder().name("Tarea 2").todoListId(99).build();
+        MockServerRequest requestWithBody = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Flux.just(taskEntity, otherTask));
+        when(todoListService.createTasks(any())).thenAnswer(invocation -> {
+            Flux<TaskEntity> tasks = invocation.getArgument(0);
+            return tasks.map(task -> task.getTodoListId() == 1 ? 1 : -1);
+        });
+
+        // WHEN
+        Mono<ServerResponse> response = handler.createTasksInTodoList(requestWithBody);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                ((EntityResponse<?>) serverResponse).entity().equals(List.of(1, 1)))
+                .verifyComplete();
+        verify(todoListService, times(1)).createTasks(any());
+    }
+
+    @Test
+    @DisplayName("TH-18: Verificar actualización parcial de tarea no existente")
+    void itShouldReturnNotFoundWhenPatchingMissingTask() {
+        // GIVEN
+        TaskPatch patch = TaskPatch.builder().completed(true).build();
+        MockServerRequest requestWithBody = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Mono.just(patch));
+        when(todoListService.patchTask(1, patch)).thenReturn(Mono.empty());
+
+        // WHEN
+        Mono<ServerResponse> response = handler.patchTask(requestWithBody);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 404)
+                .verifyComplete();
+        verify(todoListService, times(1)).patchTask(1, patch);
+    }
+
+    @Test
+    @DisplayName("TH-19: Verificar respuesta 304 cuando el ETag coincide")
+    void itShouldReturnNotModifiedWhenETagMatches() {
+        // GIVEN
+        when(todoListService.getTaskById(1)).thenReturn(Mono.just(taskEntity));
+        String eTag = handler.getTaskById(mockRequest)
+                .map(serverResponse -> serverResponse.headers().getETag())
+                .block();
+        MockServerRequest conditionalRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"otro\", " + eTag)
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTaskById(conditionalRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().value() == 304 &&
+                                eTag.equals(serverResponse.headers().getETag()) &&
+                                !(serverResponse instanceof EntityResponse))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TH-20: Verificar ETag distinto cuando cambia el contenido")
+    void itShouldChangeETagWhenContentChanges() {
+        // GIVEN
+        TaskEntity changedTask = TaskEntity.builder()
+                .id(1)
+                .name("Tarea 1")
+                .description("Descripción de la tarea 1")
+                .completed(true)
+                .deadline(taskEntity.getDeadline())
+                .todoListId(1)
+                .build();
+        when(todoListService.getTaskById(1)).thenReturn(Mono.just(taskEntity), Mono.just(changedTask));
+
+        // WHEN
+        String firstETag = handler.getTaskById(mockRequest).map(r -> r.headers().getETag()).block();
+        String secondETag = handler.getTaskById(mockRequest).map(r -> r.headers().getETag()).block();
+
+        // THEN
+        assertNotEquals(firstETag, secondETag);
+    }
+
+    @Test
+    @DisplayName("TH-21: Verificar lectura múltiple de tareas por ids en el orden pedido")
+    void itShouldGetTasksByIds() {
+        // GIVEN
+        MultiGetResult<TaskEntity> result = new MultiGetResult<>(List.of(taskEntity), List.of(3));
+        when(todoListService.getTasksByIds(List.of(3, 1))).thenReturn(Mono.just(result));
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("ids", "3,1,3")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasks(request);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                result.equals(((EntityResponse<?>) serverResponse).entity()))
+                .verifyComplete();
+        verify(todoListService, times(1)).getTasksByIds(List.of(3, 1));
+    }
+
+    @Test
+    @DisplayName("TH-22: Verificar respuesta 400 con ids no numéricos")
+    void itShouldRejectInvalidIds() {
+        // GIVEN
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("ids", "1,abc")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasks(request);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                .verifyComplete();
+        verify(todoListService, never()).getTasksByIds(any());
+    }
+
+    @Test
+    @DisplayName("TH-23: Verificar estadísticas de una lista de tareas")
+    void itShouldGetTodoListStats() {
+        // GIVEN
+        TodoListStats stats = new TodoListStats(1, "Lista de tareas", 10, 4, 2, LocalDateTime.now().plusDays(1));
+        when(todoListService.getTodoListStats(1)).thenReturn(Mono.just(stats));
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTodoListStats(mockRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                serverResponse.headers().getETag() != null)
+                .verifyComplete();
+        verify(todoListService, never()).getTasksByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TH-24: Verificar respuesta CBOR con ETag propio cuando el cliente la acepta")
+    void itShouldNegotiateCborResponse() {
+        // GIVEN
+        when(todoListService.getTaskById(1)).thenReturn(Mono.just(taskEntity));
+        List<String> jsonETags = new ArrayList<>();
+        StepVerifier.create(handler.getTaskById(mockRequest))
+                .consumeNextWith(serverResponse -> jsonETags.add(serverResponse.headers().getETag()))
+                .verifyComplete();
+        MockServerRequest cborRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTaskById(cborRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        MediaType.APPLICATION_CBOR.equals(serverResponse.headers().getContentType()) &&
+                                serverResponse.headers().getVary().contains(HttpHeaders.ACCEPT) &&
+                                !jsonETags.contains(serverResponse.headers().getETag()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TH-25: Verificar listado de tareas en Smile como un único arreglo")
+    void itShouldNegotiateSmileListResponse() {
+        // GIVEN
+        when(todoListService.getTasksByTodoListId(1)).thenReturn(Flux.just(taskEntity));
+        MockServerRequest smileRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.ACCEPT, WireFormats.APPLICATION_SMILE.toString())
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasksByTodoListId(smileRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        WireFormats.APPLICATION_SMILE.equals(serverResponse.headers().getContentType()) &&
+                                serverResponse instanceof EntityResponse<?> entityResponse &&
+                                entityResponse.entity() instanceof List<?> tasks && tasks.size() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TH-26: Servir desde la caché de respuestas los bytes ya codificados, comprimidos con gzip")
+    void itShouldServeCachedResponseBytes() {
+        // GIVEN
+        ResponseCache enabledCache = ResponseCache.from(new CacheProperties.Responses(
+                true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), true, DataSize.ofBytes(1)));
+        Handler cachingHandler = new Handler(todoListService, new ConditionalResponses(wireFormats, enabledCache),
+                wireFormats);
+        when(todoListService.getTaskById(1)).thenReturn(Mono.just(taskEntity));
+        MockServerRequest gzipRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .build();
+        StepVerifier.create(cachingHandler.getTaskById(gzipRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // WHEN
+        Mono<ServerResponse> response = cachingHandler.getTaskById(gzipRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        "gzip".equals(serverResponse.headers().getFirst(HttpHeaders.CONTENT_ENCODING)) &&
+                                serverResponse.headers().getETag().endsWith("-gzip\""))
+                .verifyComplete();
+        verify(todoListService, times(1)).getTaskById(1);
+    }
+
+    @Test
+    @DisplayName("TH-27: Verificar filtros y orden de las tareas de una lista")
+    void itShouldFilterAndSortTasks() {
+        // GIVEN
+        TaskQuery query = new TaskQuery(false, null, LocalDateTime.of(2030, 1, 1, 0, 0), "Tar", TaskQuery.Sort.DEADLINE);
+        when(todoListService.getTasksByTodoListId(1, query)).thenReturn(Flux.just(taskEntity));
+        MockServerRequest filteredRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("completed", "false")
+                .queryParam("dueBefore", "2030-01-01T00:00:00")
+                .queryParam("namePrefix", "Tar")
+                .queryParam("sort", "deadline")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasksByTodoListId(filteredRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().is2xxSuccessful())
+                .verifyComplete();
+        verify(todoListService, times(1)).getTasksByTodoListId(1, query);
+        verify(todoListService, never()).getTasksByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TH-28: Verificar respuesta 400 con filtros inválidos o paginación sin orden por id")
+    void itShouldRejectInvalidTaskQueries() {
+        // GIVEN
+        MockServerRequest invalidSort = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("sort", "priority")
+                .build();
+        MockServerRequest invalidDate = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("dueAfter", "mañana")
+                .build();
+        MockServerRequest pagedByName = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("sort", "name")
+                .queryParam("limit", "10")
+                .build();
+
+        // WHEN / THEN
+        for (MockServerRequest request : List.of(invalidSort, invalidDate, pagedByName)) {
+            StepVerifier.create(handler.getTasksByTodoListId(request))
+                    .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                    .verifyComplete();
+        }
+        verifyNoInteractions(todoListService);
+    }
+
+    @Test
+    @DisplayName("TH-29: Verificar búsqueda de tareas paginada por posición")
+    void itShouldSearchTasks() {
+        // GIVEN
+        MockServerRequest searchRequest = MockServerRequest.builder()
+                .queryParam("q", "  comprar pan ")
+                .queryParam("limit", "1")
+                .queryParam("after", PageCursor.encodeOffset(2))
+                .build();
+        when(todoListService.searchTasks("comprar pan", 2, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(taskEntity), 3, true)));
+
+        // WHEN
+        Mono<ServerResponse> response = handler.searchTasks(searchRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                PageCursor.encodeOffset(3).equals(serverResponse.headers().getFirst(Handler.NEXT_CURSOR_HEADER)) &&
+                                "true".equals(serverResponse.headers().getFirst(Handler.TRUNCATED_HEADER)))
+                .verifyComplete();
+        verify(todoListService, times(1)).searchTasks("comprar pan", 2, 1);
+    }
+
+    @Test
+    @DisplayName("TH-30: Verificar respuesta 400 en búsquedas vacías o con cursor de id")
+    void itShouldRejectInvalidSearches() {
+        // GIVEN
+        MockServerRequest missingText = MockServerRequest.builder().build();
+        MockServerRequest blankText = MockServerRequest.builder()
+                .queryParam("q", "   ")
+                .build();
+        MockServerRequest keysetCursor = MockServerRequest.builder()
+                .queryParam("q", "tarea")
+                .queryParam("after", PageCursor.encode(10))
+                .build();
+
+        // WHEN / THEN
+        for (MockServerRequest request : List.of(missingText, blankText, keysetCursor)) {
+            StepVerifier.create(handler.searchTasks(request))
+                    .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                    .verifyComplete();
+        }
+        verifyNoInteractions(todoListService);
+    }
+
+    @Test
+    @DisplayName("TH-31: Llenar la caché de respuestas solo desde el primario y no servirla a clientes fijados")
+    void itShouldFillResponseCacheFromPrimaryOnly() {
+        // GIVEN
+        ResponseCache enabledCache = ResponseCache.from(new CacheProperties.Responses(
+                true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), false, DataSize.ofBytes(1)));
+        Handler cachingHandler = new Handler(todoListService, new ConditionalResponses(wireFormats, enabledCache),
+                wireFormats);
+        List<Object> routes = new ArrayList<>();
+        when(todoListService.getTaskById(1)).thenReturn(Mono.deferContextual(context -> {
+            routes.add(context.getOrDefault(ReadWriteRouting.ROUTE_KEY, ReadWriteRouting.Route.REPLICA));
+            return Mono.just(taskEntity);
+        }));
+        MockServerRequest taskRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .build();
+
+        // WHEN
+        StepVerifier.create(cachingHandler.getTaskById(taskRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(cachingHandler.getTaskById(taskRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(cachingHandler.getTaskById(taskRequest).contextWrite(ReadWriteRouting::pinPrimary))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // THEN
+        assertEquals(List.of(ReadWriteRouting.Route.PRIMARY, ReadWriteRouting.Route.PRIMARY), routes);
+    }
+
+    @Test
+    @DisplayName("TH-32: Verificar respuesta Protobuf en lecturas por id y JSON en los tipos sin mensaje")
+    void itShouldNegotiateProtobufResponse() {
+        // GIVEN
+        when(todoListService.getTaskById(1)).thenReturn(Mono.just(taskEntity));
+        TodoListStats stats = new TodoListStats(1, "Lista de tareas", 10, 4, 2, LocalDateTime.now().plusDays(1));
+        when(todoListService.getTodoListStats(1)).thenReturn(Mono.just(stats));
+        MockServerRequest protobufRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.ACCEPT, WireFormats.APPLICATION_PROTOBUF.toString())
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> taskResponse = handler.getTaskById(protobufRequest);
+        Mono<ServerResponse> statsResponse = handler.getTodoListStats(protobufRequest);
+
+        // THEN
+        StepVerifier.create(taskResponse)
+                .expectNextMatches(serverResponse ->
+                        WireFormats.APPLICATION_PROTOBUF.equals(serverResponse.headers().getContentType()) &&
+                                serverResponse instanceof EntityResponse<?> entityResponse &&
+                                entityResponse.entity() instanceof byte[] content &&
+                                taskEntity.equals(readProtobufTask(content)))
+                .verifyComplete();
+        StepVerifier.create(statsResponse)
+                .expectNextMatches(serverResponse ->
+                        MediaType.APPLICATION_JSON.equals(serverResponse.headers().getContentType()))
+                .verifyComplete();
+    }
+
+    private TaskEntity readProtobufTask(byte[] content) {
+        try {
+            return wireFormats.read(WireFormats.APPLICATION_PROTOBUF, content, TaskEntity.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("TH-33: Paginar siempre las estadísticas de todas las listas, con el límite por defecto")
+    void itShouldPageAllTodoListStats() {
+        // GIVEN
+        TodoListStats stats = new TodoListStats(1, "Lista de tareas", 10, 4, 2, null);
+        when(todoListService.getTodoListStatsPage(0, Handler.DEFAULT_PAGE_LIMIT))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(stats), 1)));
+        MockServerRequest statsRequest = MockServerRequest.builder()
+                .queryParam("stats", "true")
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getAllTodoLists(statsRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                PageCursor.encode(1).equals(serverResponse.headers().getFirst(Handler.NEXT_CURSOR_HEADER)))
+                .verifyComplete();
+        verify(todoListService, never()).getAllTodoLists();
+    }
+
+    @Test
+    @DisplayName("TH-34: Verificar transmisión NDJSON de tareas filtradas sin cargar la consulta completa")
+    void itShouldStreamFilteredTasksAsNdjson() {
+        // GIVEN
+        TaskQuery query = new TaskQuery(false, null, null, null, TaskQuery.Sort.ID);
+        when(todoListService.streamTasksByTodoListId(1, query)).thenReturn(Flux.just(taskEntity));
+        MockServerRequest streamRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .queryParam("completed", "false")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> response = handler.getTasksByTodoListId(streamRequest);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNextMatches(serverResponse ->
+                        MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType()))
+                .verifyComplete();
+        verify(todoListService, never()).getTasksByTodoListId(1, query);
+    }
+
+    @Test
+    @DisplayName("TH-35: Verificar respuesta 400 al reemplazar una tarea o una lista sin nombre")
+    void itShouldRejectPutWithoutName() {
+        // GIVEN
+        MockServerRequest taskRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Mono.just(TaskEntity.builder().description("Sin nombre").build()));
+        MockServerRequest todoListRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Mono.just(TodoListEntity.builder().build()));
+
+        // WHEN
+        Mono<ServerResponse> taskResponse = handler.updateTask(taskRequest);
+        Mono<ServerResponse> todoListResponse = handler.updateTodoList(todoListRequest);
+
+        // THEN
+        StepVerifier.create(taskResponse)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                .verifyComplete();
+        StepVerifier.create(todoListResponse)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                .verifyComplete();
+        verifyNoInteractions(todoListService);
+    }
+
+    @Test
+    @DisplayName("TH-36: Verificar PATCH que borra campos opcionales y respuesta 400 si borra el nombre")
+    void itShouldClearOptionalFieldsOnPatch() {
+        // GIVEN
+        TaskPatch clearOptional = TaskPatch.builder().description(null).deadline(null).build();
+        TaskEntity clearedTask = TaskEntity.builder().id(1).name("Tarea 1").todoListId(1).build();
+        when(todoListService.patchTask(1, clearOptional)).thenReturn(Mono.just(clearedTask));
+        MockServerRequest clearRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Mono.just(clearOptional));
+        MockServerRequest clearNameRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .body(Mono.just(TaskPatch.builder().name(null).build()));
+
+        // WHEN
+        Mono<ServerResponse> clearResponse = handler.patchTask(clearRequest);
+        Mono<ServerResponse> clearNameResponse = handler.patchTask(clearNameRequest);
+
+        // THEN
+        StepVerifier.create(clearResponse)
+                .expectNextMatches(serverResponse ->
+                        serverResponse.statusCode().is2xxSuccessful() &&
+                                ((EntityResponse<?>) serverResponse).entity().equals(clearedTask))
+                .verifyComplete();
+        StepVerifier.create(clearNameResponse)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 400)
+                .verifyComplete();
+        verify(todoListService, times(1)).patchTask(anyInt(), any(TaskPatch.class));
+    }
+
+    @Test
+    @DisplayName("TH-37: Responder 304 en estadísticas y páginas con la versión de colecciones sin cargarlas")
+    void itShouldReturnNotModifiedForCollectionsWithoutLoading() {
+        // GIVEN
+        ResponseCache enabledCache = ResponseCache.from(new CacheProperties.Responses(
+                true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), true, DataSize.ofBytes(1)));
+        Handler cachingHandler = new Handler(todoListService, new ConditionalResponses(wireFormats, enabledCache),
+                wireFormats);
+        String eTag = enabledCache.collectionETag(MediaType.APPLICATION_JSON.toString());
+        MockServerRequest conditionalStatsRequest = MockServerRequest.builder()
+                .pathVariable("id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .build();
+        MockServerRequest conditionalPageRequest = MockServerRequest.builder()
+                .queryParam("limit", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .build();
+
+        // WHEN
+        Mono<ServerResponse> statsResponse = cachingHandler.getTodoListStats(conditionalStatsRequest);
+        Mono<ServerResponse> pageResponse = cachingHandler.getAllTodoLists(conditionalPageRequest);
+
+        // THEN
+        StepVerifier.create(statsResponse)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 304 &&
+                        eTag.equals(serverResponse.headers().getETag()))
+                .verifyComplete();
+        StepVerifier.create(pageResponse)
+                .expectNextMatches(serverResponse -> serverResponse.statusCode().value() == 304)
+                .verifyComplete();
+        verify(todoListService, never()).getTodoListStats(anyInt());
+        verify(todoListService, never()).getTodoListsPage(anyInt(), anyInt());
+    }
+}
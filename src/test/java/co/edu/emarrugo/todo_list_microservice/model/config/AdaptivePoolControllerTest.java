@@ -0,0 +1,129 @@
+package co.edu.emarrugo.todo_list_microservice.model.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptivePoolControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Timer acquireTimer = meterRegistry.timer("r2dbc.pool.acquire");
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+
+    private AdaptivePoolController controller(Duration decreaseCooldown) {
+        PoolProperties.Shedding shedding = new PoolProperties.Shedding(true, 2, 16, Duration.ofMillis(50),
+                Duration.ofSeconds(1), decreaseCooldown, Duration.ofSeconds(1));
+        return new AdaptivePoolController(pendingAcquires::get, acquireTimer, shedding, meterRegistry);
+    }
+
+    // Un intervalo de ajuste con la cola y la latencia media de adquisición indicadas
+    private void tick(AdaptivePoolController controller, int pending, long acquireMillis) {
+        pendingAcquires.set(pending);
+        acquireTimer.record(Duration.ofMillis(acquireMillis));
+        controller.adjust();
+    }
+
+    @Test
+    @DisplayName("TP-01: Reducir el umbral a la mitad con cola y latencia de adquisición por encima del objetivo")
+    void itShouldHalveThresholdWhenCongested() {
+        // GIVEN
+        AdaptivePoolController controller = controller(null);
+
+        // WHEN
+        tick(controller, 5, 200);
+
+        // THEN
+        assertEquals(8, controller.getPendingThreshold());
+    }
+
+    @Test
+    @DisplayName("TP-02: No reducir el umbral sin cola aunque la latencia sea alta, ni con cola y latencia baja")
+    void itShouldNotShrinkWithoutQueueOrLatency() {
+        // GIVEN
+        AdaptivePoolController controller = controller(null);
+
+        // WHEN
+        tick(controller, 0, 200);
+        tick(controller, 5, 10);
+
+        // THEN
+        assertEquals(16, controller.getPendingThreshold());
+    }
+
+    @Test
+    @DisplayName("TP-03: Crecer de uno en uno tras una reducción sin pasar del máximo")
+    void itShouldGrowAdditivelyUpToMax() {
+        // GIVEN
+        AdaptivePoolController controller = controller(null);
+        tick(controller, 5, 200);
+        tick(controller, 5, 200);
+
+        // WHEN
+        List<Integer> thresholds = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            tick(controller, 0, 10);
+            thresholds.add(controller.getPendingThreshold());
+        }
+
+        // THEN
+        assertEquals(List.of(5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 16, 16), thresholds);
+    }
+
+    @Test
+    @DisplayName("TP-04: No bajar del umbral mínimo con congestión sostenida")
+    void itShouldClampToMin() {
+        // GIVEN
+        AdaptivePoolController controller = controller(null);
+
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            tick(controller, 5, 200);
+        }
+
+        // THEN
+        assertEquals(2, controller.getPendingThreshold());
+    }
+
+    @Test
+    @DisplayName("TP-05: Esperar el enfriamiento entre dos reducciones sin impedir el crecimiento")
+    void itShouldWaitCooldownBetweenDecreases() {
+        // GIVEN
+        AdaptivePoolController controller = controller(Duration.ofSeconds(3));
+
+        // WHEN
+        List<Integer> thresholds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tick(controller, 5, 200);
+            thresholds.add(controller.getPendingThreshold());
+        }
+        tick(controller, 0, 10);
+        thresholds.add(controller.getPendingThreshold());
+
+        // THEN
+        assertEquals(List.of(8, 8, 8, 4, 5), thresholds);
+    }
+
+    @Test
+    @DisplayName("TP-06: Rechazar cuando las adquisiciones pendientes alcanzan el umbral")
+    void itShouldReportOverloadAtThreshold() {
+        // GIVEN
+        AdaptivePoolController controller = controller(null);
+        tick(controller, 5, 200);
+
+        // WHEN / THEN
+        pendingAcquires.set(7);
+        assertFalse(controller.isOverloaded());
+        pendingAcquires.set(8);
+        assertTrue(controller.isOverloaded());
+    }
+}
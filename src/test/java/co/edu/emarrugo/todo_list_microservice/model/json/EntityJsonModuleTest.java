@@ -0,0 +1,82 @@
+package co.edu.emarrugo.todo_list_microservice.model.json;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityJsonModuleTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper explicit = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new EntityJsonModule())
+            .build();
+
+    private final TaskEntity taskEntity = TaskEntity.builder()
+            .id(1)
+            .name("Tarea 1")
+            .description("Descripción de la tarea 1")
+            .completed(true)
+            .deadline(LocalDateTime.of(2030, 1, 1, 12, 0))
+            .todoListId(1)
+            .build();
+
+    @Test
+    @DisplayName("TJ-01: Serializar una tarea igual que la serialización reflexiva, nulos incluidos")
+    void itShouldSerializeTasksLikeJackson() throws Exception {
+        // GIVEN
+        TaskEntity withNulls = TaskEntity.builder().id(2).build();
+
+        // WHEN / THEN
+        assertEquals(reflective.writeValueAsString(taskEntity), explicit.writeValueAsString(taskEntity));
+        assertEquals(reflective.writeValueAsString(withNulls), explicit.writeValueAsString(withNulls));
+    }
+
+    @Test
+    @DisplayName("TJ-02: Serializar una lista con tareas omitiendo los campos nulos")
+    void itShouldSerializeTodoListsLikeJackson() throws Exception {
+        // GIVEN
+        TodoListEntity withTasks = TodoListEntity.builder().id(1).name("Lista").tasks(List.of(taskEntity)).build();
+        TodoListEntity withoutTasks = TodoListEntity.builder().id(1).build();
+
+        // WHEN / THEN
+        assertEquals(reflective.writeValueAsString(withTasks), explicit.writeValueAsString(withTasks));
+        assertEquals(reflective.writeValueAsString(withoutTasks), explicit.writeValueAsString(withoutTasks));
+        assertEquals(reflective.writeValueAsString(List.of(withTasks)), explicit.writeValueAsString(List.of(withTasks)));
+    }
+
+    @Test
+    @DisplayName("TJ-03: Leer un PATCH distinguiendo los campos ausentes de los enviados a null")
+    void itShouldReadMergePatchAbsentAndNullFields() throws Exception {
+        // GIVEN
+        String body = "{\"description\": null, \"completed\": true}";
+
+        // WHEN
+        TaskPatch patch = explicit.readValue(body, TaskPatch.class);
+
+        // THEN
+        assertEquals(TaskPatch.builder().description(null).completed(true).build(), patch);
+        assertNull(patch.name());
+        assertNull(patch.deadline());
+        assertEquals(Optional.empty(), patch.description());
+        TaskEntity patched = patch.applyTo(taskEntity);
+        assertNull(patched.getDescription());
+        assertEquals(taskEntity.getDeadline(), patched.getDeadline());
+        assertTrue(explicit.readValue("{\"name\": null}", TaskPatch.class).clearsRequiredField());
+    }
+}
@@ -0,0 +1,207 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan de ejecución de cada consulta de los repositorios sobre el esquema de las migraciones.
+ * Con enable_seqscan = off el planificador solo recorre una tabla entera si ningún índice sirve, así que
+ * un "Seq Scan" indica que falta un índice. Como aun así puede recorrer un índice completo, cada consulta
+ * declara los índices que debe usar y ningún índice de tasks se recorre sin condición de índice.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+    private static final Map<String, String> PARAMETER_VALUES = Map.ofEntries(
+            Map.entry("id", "1"),
+            Map.entry("ids", "ARRAY[1, 2, 3]"),
+            Map.entry("todoListId", "1"),
+            Map.entry("after", "0"),
+            Map.entry("limit", "100"),
+            Map.entry("now", "TIMESTAMP '2030-01-01 00:00:00'"),
+            Map.entry("totalDelta", "1"),
+            Map.entry("completedDelta", "0"),
+            Map.entry("name", "'Tarea'"),
+            Map.entry("description", "'Descripción'"),
+            Map.entry("deadline", "TIMESTAMP '2030-01-01 00:00:00'"),
+            Map.entry("id0", "1"),
+            Map.entry("name0", "'Tarea'"),
+            Map.entry("description0", "'Descripción'"),
+            Map.entry("completed0", "TRUE"),
+            Map.entry("deadline0", "TIMESTAMP '2030-01-01 00:00:00'"),
+            Map.entry("completed", "FALSE"),
+            Map.entry("dueAfter", "TIMESTAMP '2030-01-01 00:00:00'"),
+            Map.entry("dueBefore", "TIMESTAMP '2030-02-01 00:00:00'"),
+            Map.entry("namePrefix", "'Tarea 1%'"),
+            Map.entry("text", "'tarea 42'"),
+            Map.entry("candidates", "1000"),
+            Map.entry("offset", "0"));
+
+    // Índices con todo_list_id en cabeza: el planificador elige entre ellos según el tamaño estimado
+    private static final List<String> BY_TODO_LIST = List.of("idx_tasks_todo_list_id", "idx_tasks_todo_list_completed");
+    private static final List<String> TASK_COLUMNS = List.of("name", "description", "completed", "deadline");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO todo_lists (name) SELECT 'Lista ' || i FROM generate_series(1, 100) i");
+            statement.execute("""
+                    INSERT INTO tasks (name, description, completed, deadline, todo_list_id)
+                    SELECT 'Tarea ' || i, 'Descripción', i % 3 = 0, TIMESTAMP '2030-01-01' + i * INTERVAL '1 hour',
+                           1 + i % 100
+                    FROM generate_series(1, 10000) i
+                    """);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("tasks.findById", TaskRepositoryCustomImpl.SELECT_BY_ID, List.of("tasks_pkey")),
+                Arguments.of("tasks.findByIdForUpdate", TaskRepositoryCustomImpl.SELECT_BY_ID_FOR_UPDATE,
+                        List.of("tasks_pkey")),
+                Arguments.of("tasks.findByIds", TaskRepositoryCustomImpl.SELECT_BY_IDS, List.of("tasks_pkey")),
+                Arguments.of("tasks.findAllByTodoListId", TaskRepositoryCustomImpl.SELECT_ALL_BY_TODO_LIST,
+                        BY_TODO_LIST),
+                Arguments.of("tasks.findPageByTodoListId", TaskRepositoryCustomImpl.SELECT_PAGE_BY_TODO_LIST,
+                        BY_TODO_LIST),
+                Arguments.of("tasks.streamAllByTodoListId", TaskRepositoryCustomImpl.SELECT_BY_TODO_LIST, BY_TODO_LIST),
+                Arguments.of("tasks.findByTodoListId", TaskRepositoryCustomImpl.filteredQuery(
+                        new TaskQuery(false, LocalDateTime.now(), LocalDateTime.now(), "Tarea", TaskQuery.Sort.DEADLINE),
+                        false, true), List.of("idx_tasks_open_deadline", "idx_tasks_todo_list_id",
+                        "idx_tasks_todo_list_completed")),
+                Arguments.of("tasks.findByTodoListId(keyset)", TaskRepositoryCustomImpl.filteredQuery(
+                        new TaskQuery(true, null, null, null, TaskQuery.Sort.ID), true, true), BY_TODO_LIST),
+                // Comprueba que no hay recorrido secuencial; el bitmap del GIN sigue leyendo todas las coincidencias
+                Arguments.of("tasks.search", TaskRepositoryCustomImpl.SEARCH, List.of("idx_tasks_search")),
+                Arguments.of("tasks.replaceAll", TaskRepositoryCustomImpl.REPLACE_ALL.formatted(
+                        "(CAST(:id0 AS integer), CAST(:name0 AS text), CAST(:description0 AS text), "
+                                + "CAST(:completed0 AS boolean), CAST(:deadline0 AS timestamp))"),
+                        List.of("tasks_pkey")),
+                Arguments.of("tasks.replace", UpdateReturning.sql("tasks", TASK_COLUMNS, "completed"),
+                        List.of("tasks_pkey")),
+                Arguments.of("tasks.deleteAllByTodoListId", TaskRepository.DELETE_ALL_BY_TODO_LIST, BY_TODO_LIST),
+                Arguments.of("todoLists.findById", TodoListRepositoryCustomImpl.SELECT_BY_ID,
+                        List.of("todo_lists_pkey")),
+                Arguments.of("todoLists.findByIds", TodoListRepositoryCustomImpl.SELECT_BY_IDS,
+                        List.of("todo_lists_pkey")),
+                Arguments.of("todoLists.findPage", TodoListRepositoryCustomImpl.SELECT_PAGE,
+                        List.of("todo_lists_pkey")),
+                Arguments.of("todoLists.findAll", TodoListRepositoryCustomImpl.SELECT_ALL, List.of("todo_lists_pkey")),
+                Arguments.of("todoLists.findWithTasksById", TodoListRepositoryCustomImpl.SELECT_WITH_TASKS,
+                        BY_TODO_LIST),
+                Arguments.of("todoLists.updateFields", UpdateReturning.sql("todo_lists", List.of("name")),
+                        List.of("todo_lists_pkey")),
+                Arguments.of("todoLists.deleteAndCountById", TodoListRepository.DELETE_BY_ID,
+                        List.of("todo_lists_pkey")),
+                Arguments.of("stats.applyDelta", R2dbcTodoListStatsRepository.UPSERT_DELTA,
+                        List.of("todo_list_stats_pkey")),
+                Arguments.of("stats.deleteByTodoListId", R2dbcTodoListStatsRepository.DELETE,
+                        List.of("todo_list_stats_pkey")),
+                Arguments.of("stats.findByTodoListId", R2dbcTodoListStatsRepository.SELECT_STATS_BY_ID,
+                        List.of("idx_tasks_open_deadline")),
+                Arguments.of("stats.findPage", R2dbcTodoListStatsRepository.SELECT_STATS_PAGE,
+                        List.of("idx_tasks_open_deadline")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("TQ-01: Cada consulta de los repositorios usa el índice previsto sin recorrer una tabla entera")
+    void itShouldUseTheExpectedIndexForEveryQuery(String query, String sql, List<String> expectedIndexes)
+            throws SQLException, JsonProcessingException {
+        // GIVEN
+        String explain;
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+
+            // WHEN
+            try (ResultSet rows = statement.executeQuery("EXPLAIN (FORMAT JSON) " + withLiterals(sql))) {
+                rows.next();
+                explain = rows.getString(1);
+            }
+        }
+
+        // THEN
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(OBJECT_MAPPER.readTree(explain).get(0).get("Plan"), nodes);
+        assertFalse(nodes.stream().anyMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())),
+                () -> query + " hace un recorrido secuencial:\n" + explain);
+        assertTrue(nodes.stream().flatMap(RepositoryQueryPlanTest::indexesOf).anyMatch(expectedIndexes::contains),
+                () -> query + " no usa ninguno de " + expectedIndexes + ":\n" + explain);
+        assertFalse(nodes.stream().anyMatch(RepositoryQueryPlanTest::isFullTaskIndexScan),
+                () -> query + " recorre entero un índice de tasks:\n" + explain);
+    }
+
+    private static void collectNodes(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> collectNodes(child, nodes));
+    }
+
+    // Índices recorridos por el nodo o usados como árbitro de ON CONFLICT
+    private static Stream<String> indexesOf(JsonNode node) {
+        Stream<String> scanned = node.has("Index Name") ? Stream.of(node.get("Index Name").asText()) : Stream.empty();
+        Stream<String> arbiters = StreamSupport.stream(node.path("Conflict Arbiter Indexes").spliterator(), false)
+                .map(JsonNode::asText);
+        return Stream.concat(scanned, arbiters);
+    }
+
+    private static boolean isFullTaskIndexScan(JsonNode node) {
+        String index = node.path("Index Name").asText();
+        return (index.equals("tasks_pkey") || index.startsWith("idx_tasks_")) && !node.has("Index Cond");
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    // EXPLAIN no admite parámetros sin PREPARE: los :nombre se sustituyen por literales de ejemplo
+    private static String withLiterals(String sql) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = PARAMETER_VALUES.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Sin valor de ejemplo para :" + matcher.group(1));
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package co.edu.emarrugo.todo_list_microservice.model.repository.memory;
+
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private final InMemoryTaskRepository indexed = new InMemoryTaskRepository(searchIndex);
+    private final InMemoryTaskRepository scanned = new InMemoryTaskRepository();
+
+    private static TaskEntity task(String name, String description) {
+        return TaskEntity.builder().name(name).description(description).todoListId(1).build();
+    }
+
+    @Test
+    @DisplayName("TI-01: Ordenar por relevancia (nombre antes que descripción) y luego por id")
+    void itShouldRankNameMatchesFirst() {
+        // GIVEN
+        List<TaskEntity> tasks = List.of(
+                task("Revisar informe", "Comprar pan de camino"),
+                task("Comprar pan", "En la panadería"),
+                task("Llamar", "Sin relación"),
+                task("COMPRAR pan, leche", null));
+        indexed.saveAll(tasks).blockLast();
+        scanned.saveAll(tasks).blockLast();
+
+        // WHEN / THEN
+        for (InMemoryTaskRepository repository : List.of(indexed, scanned)) {
+            StepVerifier.create(repository.search("comprar pan", 0, 10)
+                            .flatMapIterable(TaskSearchResult::tasks).map(TaskEntity::getId))
+                    .expectNext(2, 4, 1)
+                    .verifyComplete();
+            StepVerifier.create(repository.search("comprar pan", 1, 1)
+                            .flatMapIterable(TaskSearchResult::tasks).map(TaskEntity::getId))
+                    .expectNext(4)
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("TI-02: Reflejar cambios y bajas de tareas en el índice")
+    void itShouldFollowUpdatesAndDeletes() {
+        // GIVEN
+        indexed.saveAll(List.of(task("Tarea vieja", null), task("Otra tarea", null))).blockLast();
+
+        // WHEN
+        indexed.updateFields(1, TaskPatch.builder().name("Tarea nueva").build()).block();
+        indexed.deleteById(2).block();
+
+        // THEN
+        StepVerifier.create(indexed.search("vieja", 0, 10).flatMapIterable(TaskSearchResult::tasks))
+                .verifyComplete();
+        StepVerifier.create(indexed.search("nueva", 0, 10)
+                        .flatMapIterable(TaskSearchResult::tasks).map(TaskEntity::getId))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(indexed.search("otra", 0, 10).flatMapIterable(TaskSearchResult::tasks))
+                .verifyComplete();
+        // Las entradas obsoletas se depuran al consultarlas
+        assertEquals(Set.of(), searchIndex.candidates(Set.of("vieja")));
+        assertEquals(Set.of(), searchIndex.candidates(Set.of("otra")));
+    }
+
+    @Test
+    @DisplayName("TI-03: Tokenizar como la configuración 'simple' de Postgres")
+    void itShouldTokenizeLikePostgresSimpleConfig() {
+        // WHEN / THEN
+        assertEquals(Set.of("año", "2030", "revisión", "urgente"), TaskSearchIndex.terms("Año 2030: ¡Revisión URGENTE!"));
+        assertEquals(Set.of(), TaskSearchIndex.terms("  ¿? "));
+    }
+}
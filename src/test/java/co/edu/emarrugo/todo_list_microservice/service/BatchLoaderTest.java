@@ -0,0 +1,80 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.BatchLoaderProperties;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchLoaderTest {
+
+    private List<List<Integer>> queries;
+
+    @BeforeEach
+    void setUp() {
+        queries = new CopyOnWriteArrayList<>();
+    }
+
+    private BatchLoader<TaskEntity> loader(int maxBatchSize) {
+        return BatchLoader.from("tasks", new BatchLoaderProperties(true, Duration.ofMillis(20), maxBatchSize),
+                this::findByIds, TaskEntity::getId, new SimpleMeterRegistry());
+    }
+
+    /* Simula WHERE id = ANY(:ids) sobre las tareas con id par */
+    private Flux<TaskEntity> findByIds(List<Integer> ids) {
+        queries.add(new ArrayList<>(ids));
+        return Flux.fromIterable(ids)
+                .filter(id -> id % 2 == 0)
+                .map(id -> TaskEntity.builder().id(id).name("Tarea " + id).todoListId(1).build());
+    }
+
+    @Test
+    @DisplayName("TB-01: Resolver con una sola consulta los ids pedidos en la misma ventana")
+    void itShouldBatchConcurrentLoads() {
+        // GIVEN
+        BatchLoader<TaskEntity> loader = loader(100);
+
+        // WHEN / THEN
+        StepVerifier.create(Mono.zip(loader.load(2), loader.load(4), loader.load(2)))
+                .expectNextMatches(tuple -> tuple.getT1().getId() == 2
+                        && tuple.getT2().getId() == 4
+                        && tuple.getT3().getId() == 2)
+                .verifyComplete();
+        assertEquals(List.of(List.of(2, 4)), queries);
+    }
+
+    @Test
+    @DisplayName("TB-02: Completar vacío para ids inexistentes")
+    void itShouldCompleteEmptyForMissingIds() {
+        // GIVEN
+        BatchLoader<TaskEntity> loader = loader(100);
+
+        // WHEN / THEN
+        StepVerifier.create(loader.load(3))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TB-03: Lanzar el lote sin esperar la ventana al alcanzar el tamaño máximo")
+    void itShouldDispatchWhenBatchIsFull() {
+        // GIVEN
+        BatchLoader<TaskEntity> loader = loader(2);
+
+        // WHEN / THEN
+        StepVerifier.create(Flux.merge(loader.load(2), loader.load(4), loader.load(6)).count())
+                .expectNext(3L)
+                .verifyComplete();
+        assertEquals(List.of(List.of(2, 4), List.of(6)), queries);
+    }
+}
@@ -0,0 +1,139 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTransactionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityCacheTest {
+
+    private EntityCache<TaskEntity> cache;
+    private AtomicInteger loads;
+    private TaskEntity taskEntity;
+
+    @BeforeEach
+    void setUp() {
+        cache = EntityCache.from("tasks", new CacheProperties.Spec(true, 100, Duration.ofMinutes(1)));
+        loads = new AtomicInteger();
+        taskEntity = TaskEntity.builder()
+                .id(1)
+                .name("Tarea 1")
+                .todoListId(1)
+                .build();
+    }
+
+    private Mono<TaskEntity> load(Integer id) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return taskEntity;
+        });
+    }
+
+    @Test
+    @DisplayName("TE-01: Servir desde caché la segunda lectura")
+    void itShouldServeSecondReadFromCache() {
+        // WHEN / THEN
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("TE-02: Volver a cargar tras invalidar por predicado")
+    void itShouldReloadAfterEviction() {
+        // GIVEN
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+
+        // WHEN
+        Mono<Void> invalidation = cache.invalidateIf(task -> task.getTodoListId() == 1);
+
+        // THEN
+        StepVerifier.create(invalidation).verifyComplete();
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("TE-03: No guardar resultados vacíos")
+    void itShouldNotCacheEmptyResults() {
+        // WHEN / THEN
+        StepVerifier.create(cache.get(2, id -> Mono.<TaskEntity>empty())).verifyComplete();
+        StepVerifier.create(cache.get(2, this::load)).expectNext(taskEntity).verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("TE-04: Delegar siempre en el cargador si la caché está deshabilitada")
+    void itShouldBypassWhenDisabled() {
+        // GIVEN
+        EntityCache<TaskEntity> disabled = EntityCache.disabled("tasks");
+
+        // WHEN / THEN
+        StepVerifier.create(disabled.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+        StepVerifier.create(disabled.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("TE-05: Invalidar otra vez al terminar la transacción lo cargado mientras seguía abierta")
+    void itShouldInvalidateAgainAfterTransactionCompletion() {
+        // GIVEN
+        TransactionalOperator transactionalOperator = TransactionalOperator.create(new InMemoryTransactionManager());
+        Mono<TaskEntity> write = cache.invalidate(1)
+                .then(cache.get(1, this::load))
+                .as(transactionalOperator::transactional);
+
+        // WHEN
+        StepVerifier.create(write).expectNext(taskEntity).verifyComplete();
+
+        // THEN
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("TE-06: No leer ni llenar la caché desde un cliente fijado al primario")
+    void itShouldBypassCacheWhenPinnedToPrimary() {
+        // GIVEN
+        StepVerifier.create(cache.get(1, this::load)).expectNext(taskEntity).verifyComplete();
+
+        // WHEN
+        Mono<TaskEntity> result = cache.get(1, this::load).contextWrite(ReadWriteRouting::pinPrimary);
+
+        // THEN
+        StepVerifier.create(result).expectNext(taskEntity).verifyComplete();
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("TE-07: Llenar la caché leyendo del primario aunque el cliente prefiera réplicas")
+    void itShouldFillCacheFromPrimary() {
+        // GIVEN
+        AtomicReference<Object> route = new AtomicReference<>();
+        Mono<TaskEntity> result = cache.get(1, id -> Mono.deferContextual(context -> {
+                    route.set(context.getOrDefault(ReadWriteRouting.ROUTE_KEY, null));
+                    return Mono.just(taskEntity);
+                }))
+                .contextWrite(ReadWriteRouting::preferReplica);
+
+        // WHEN / THEN
+        StepVerifier.create(result).expectNext(taskEntity).verifyComplete();
+        assertEquals(ReadWriteRouting.Route.PRIMARY, route.get());
+    }
+}
@@ -0,0 +1,118 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final String JSON = "application/json";
+
+    private ResponseCache cache;
+    private byte[] body;
+
+    @BeforeEach
+    void setUp() {
+        cache = ResponseCache.from(new CacheProperties.Responses(
+                true, DataSize.ofKilobytes(64), Duration.ofMinutes(1), true, DataSize.ofBytes(64)));
+        body = "{\"id\":1,\"name\":\"Tarea 1\",\"description\":\"Descripción de la tarea 1\"}"
+                .repeat(4).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("TR-01: Guardar los bytes codificados y su versión comprimida con gzip")
+    void itShouldStoreEncodedAndCompressedBytes() throws IOException {
+        // GIVEN
+        ResponseCache.Version version = cache.version(ResponseCache.Resource.TASK, 1);
+
+        // WHEN
+        cache.put(ResponseCache.Resource.TASK, 1, JSON, version, cache.entry(body, "\"abc\"", 1));
+
+        // THEN
+        ResponseCache.Entry entry = cache.get(ResponseCache.Resource.TASK, 1, JSON);
+        assertNotNull(entry);
+        assertArrayEquals(body, entry.body());
+        assertEquals("\"abc-gzip\"", entry.gzipETag());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(entry.gzipBody()))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("TR-02: Descartar una carga que empezó antes de una escritura del mismo recurso")
+    void itShouldDiscardLoadsOlderThanInvalidation() {
+        // GIVEN
+        ResponseCache.Version version = cache.version(ResponseCache.Resource.TASK, 1);
+        StepVerifier.create(cache.invalidate(ResponseCache.Resource.TASK, 1)).verifyComplete();
+
+        // WHEN
+        cache.put(ResponseCache.Resource.TASK, 1, JSON, version, cache.entry(body, "\"abc\"", 1));
+
+        // THEN
+        assertNull(cache.get(ResponseCache.Resource.TASK, 1, JSON));
+    }
+
+    @Test
+    @DisplayName("TR-03: Invalidar todas las respuestas de una lista al borrarla")
+    void itShouldInvalidateEveryResponseOfTodoList() {
+        // GIVEN
+        cache.put(ResponseCache.Resource.TASK, 7, JSON, cache.version(ResponseCache.Resource.TASK, 7),
+                cache.entry(body, "\"t7\"", 1));
+        cache.put(ResponseCache.Resource.TASK, 8, JSON, cache.version(ResponseCache.Resource.TASK, 8),
+                cache.entry(body, "\"t8\"", 2));
+
+        // WHEN
+        StepVerifier.create(cache.invalidateTodoList(1)).verifyComplete();
+
+        // THEN
+        assertNull(cache.get(ResponseCache.Resource.TASK, 7, JSON));
+        assertNotNull(cache.get(ResponseCache.Resource.TASK, 8, JSON));
+    }
+
+    @Test
+    @DisplayName("TR-04: Limitar la memoria de la caché por bytes")
+    void itShouldBoundCacheByBytes() {
+        // GIVEN
+        byte[] large = new byte[16 * 1024];
+
+        // WHEN
+        for (int id = 1; id <= 20; id++) {
+            cache.put(ResponseCache.Resource.TASK, id, JSON, cache.version(ResponseCache.Resource.TASK, id),
+                    new ResponseCache.Entry(large, "\"" + id + "\"", null, null, 1));
+        }
+        cache.cleanUp();
+
+        // THEN
+        assertTrue(cache.weightedSize() <= DataSize.ofKilobytes(64).toBytes());
+    }
+
+    @Test
+    @DisplayName("TR-05: Cambiar el ETag de colecciones con cada escritura y distinguir los formatos")
+    void itShouldAdvanceCollectionETagOnWrites() {
+        // GIVEN
+        String before = cache.collectionETag(JSON);
+
+        // WHEN
+        StepVerifier.create(cache.invalidate(ResponseCache.Resource.TASK, 1)).verifyComplete();
+
+        // THEN
+        assertNotEquals(before, cache.collectionETag(JSON));
+        assertNotEquals(cache.collectionETag(JSON), cache.collectionETag("application/cbor"));
+        assertNull(ResponseCache.disabled().collectionETag(JSON));
+    }
+}
@@ -0,0 +1,56 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.ReadWriteRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+    private SingleFlight singleFlight;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight(new SimpleMeterRegistry());
+        executions = new AtomicInteger();
+    }
+
+    private Mono<Integer> query() {
+        return Mono.fromSupplier(executions::incrementAndGet);
+    }
+
+    @Test
+    @DisplayName("TF-01: Volver a consultar cuando la lectura anterior ya terminó")
+    void itShouldNotReuseCompletedResults() {
+        // WHEN / THEN
+        StepVerifier.create(singleFlight.execute("op", 1, this::query)).expectNext(1).verifyComplete();
+        StepVerifier.create(singleFlight.execute("op", 1, this::query)).expectNext(2).verifyComplete();
+
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("TF-02: No compartir lecturas con distinta ruta primario/réplica")
+    void itShouldKeepRoutesApart() {
+        // GIVEN
+        Mono<Integer> replica = singleFlight.execute("op", 1, () -> query().delaySubscription(Duration.ofMillis(50)))
+                .contextWrite(ReadWriteRouting::preferReplica);
+        Mono<Integer> primary = singleFlight.execute("op", 1, () -> query().delaySubscription(Duration.ofMillis(50)))
+                .contextWrite(ReadWriteRouting::pinPrimary);
+
+        // WHEN / THEN
+        StepVerifier.create(Mono.zip(replica, primary))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, executions.get());
+    }
+}
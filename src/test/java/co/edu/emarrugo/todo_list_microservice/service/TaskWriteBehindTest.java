@@ -0,0 +1,158 @@
+package co.edu.emarrugo.todo_list_microservice.service;
+
+import co.edu.emarrugo.todo_list_microservice.model.config.WriteBehindProperties;
+import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskWriteBehindTest {
+
+    private List<List<TaskEntity>> flushes;
+
+    @BeforeEach
+    void setUp() {
+        flushes = new CopyOnWriteArrayList<>();
+    }
+
+    private TaskWriteBehind writeBehind(int maxPending) {
+        TaskWriteBehind writeBehind = new TaskWriteBehind(
+                new WriteBehindProperties(true, Duration.ofMinutes(1), 100, maxPending),
+                TransactionalOperator.create(new InMemoryTransactionManager()),
+                new SimpleMeterRegistry());
+        writeBehind.flushWith(tasks -> Mono.fromRunnable(() -> flushes.add(List.copyOf(tasks))));
+        return writeBehind;
+    }
+
+    private static TaskEntity task(int id, boolean completed) {
+        return TaskEntity.builder()
+                .id(id)
+                .name("Tarea " + id)
+                .completed(completed)
+                .todoListId(1)
+                .build();
+    }
+
+    @Test
+    @DisplayName("TW-01: Escribir solo el último estado de cada tarea")
+    void itShouldFlushOnlyLatestStatePerTask() {
+        // GIVEN
+        TaskWriteBehind writeBehind = writeBehind(100);
+
+        // WHEN
+        StepVerifier.create(writeBehind.submit(task(1, true))
+                        .then(writeBehind.submit(task(1, false)))
+                        .then(writeBehind.submit(task(1, true))))
+                .verifyComplete();
+        assertEquals(Optional.of(task(1, true)), writeBehind.pending(1));
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+
+        // THEN
+        assertEquals(List.of(List.of(task(1, true))), flushes);
+        assertEquals(Optional.empty(), writeBehind.pending(1));
+    }
+
+    @Test
+    @DisplayName("TW-02: Rechazar tareas nuevas con el búfer lleno sin vaciarlo en la petición")
+    void itShouldRejectWhenFull() {
+        // GIVEN
+        TaskWriteBehind writeBehind = writeBehind(1);
+
+        // WHEN
+        StepVerifier.create(writeBehind.submit(task(1, true))
+                        .then(writeBehind.submit(task(2, true))))
+                .expectError(TaskWriteBehind.BufferFullException.class)
+                .verify();
+
+        // THEN
+        assertEquals(List.of(), flushes);
+        assertEquals(Optional.empty(), writeBehind.pending(2));
+        // Un estado más nuevo de una tarea ya pendiente no ocupa otra plaza
+        StepVerifier.create(writeBehind.submit(task(1, false))).verifyComplete();
+        StepVerifier.create(writeBehind.flush().then(writeBehind.submit(task(2, true)))).verifyComplete();
+        assertEquals(List.of(List.of(task(1, false))), flushes);
+    }
+
+    @Test
+    @DisplayName("TW-03: Conservar las tareas y su plaza si falla el vaciado")
+    void itShouldRequeueWhenFlushFails() {
+        // GIVEN
+        TaskWriteBehind writeBehind = writeBehind(1);
+        writeBehind.flushWith(tasks -> Mono.error(new IllegalStateException("sin conexión")));
+
+        // WHEN
+        StepVerifier.create(writeBehind.submit(task(1, true)).then(writeBehind.flush()))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // THEN
+        assertEquals(Optional.of(task(1, true)), writeBehind.pending(1));
+        StepVerifier.create(writeBehind.submit(task(2, true)))
+                .expectError(TaskWriteBehind.BufferFullException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("TW-04: Dejar de leer como pendiente una tarea borrada durante su vaciado")
+    void itShouldDiscardTasksBeingFlushed() {
+        // GIVEN
+        TaskWriteBehind writeBehind = writeBehind(1);
+        Sinks.Empty<Void> flushDone = Sinks.empty();
+        writeBehind.flushWith(tasks -> flushDone.asMono());
+        StepVerifier.create(writeBehind.submit(task(1, true))).verifyComplete();
+        Disposable inFlight = writeBehind.flush().subscribe();
+
+        // WHEN
+        assertEquals(Optional.of(task(1, true)), writeBehind.pending(1));
+        writeBehind.discard(1);
+
+        // THEN
+        assertEquals(Optional.empty(), writeBehind.pending(1));
+        flushDone.tryEmitEmpty();
+        inFlight.dispose();
+        StepVerifier.create(writeBehind.submit(task(2, true))).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TW-05: Aplicar cambios parciales sobre el estado pendiente o en vaciado")
+    void itShouldUpdateBufferedAndInFlightTasks() {
+        // GIVEN
+        TaskWriteBehind writeBehind = writeBehind(10);
+        Sinks.Empty<Void> flushDone = Sinks.empty();
+        writeBehind.flushWith(tasks -> flushDone.asMono().then(Mono.fromRunnable(() -> flushes.add(List.copyOf(tasks)))));
+        StepVerifier.create(writeBehind.submit(task(1, false)).then(writeBehind.submit(task(2, false))))
+                .verifyComplete();
+
+        // WHEN
+        StepVerifier.create(writeBehind.update(1, current -> task(1, true)))
+                .expectNext(task(1, true))
+                .verifyComplete();
+        Disposable inFlight = writeBehind.flush().subscribe();
+        StepVerifier.create(writeBehind.update(2, current -> task(2, true)))
+                .expectNext(task(2, true))
+                .verifyComplete();
+        StepVerifier.create(writeBehind.update(3, current -> task(3, true)))
+                .verifyComplete();
+        flushDone.tryEmitEmpty();
+        inFlight.dispose();
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+
+        // THEN
+        assertEquals(List.of(List.of(task(1, true), task(2, false)), List.of(task(2, true))), flushes);
+        assertEquals(Optional.empty(), writeBehind.pending(2));
+    }
+}
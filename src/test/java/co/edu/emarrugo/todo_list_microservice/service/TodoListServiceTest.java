@@ -1,37 +1,98 @@
 package co.edu.emarrugo.todo_list_microservice.service;
 
+import co.edu.emarrugo.todo_list_microservice.model.config.WriteBehindProperties;
+import co.edu.emarrugo.todo_list_microservice.model.dto.DeleteResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.KeysetPage;
+import co.edu.emarrugo.todo_list_microservice.model.dto.MultiGetResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskChangeEvent;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskQuery;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskSearchResult;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TaskUpdate;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListPatch;
+import co.edu.emarrugo.todo_list_microservice.model.dto.TodoListStats;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TaskEntity;
 import co.edu.emarrugo.todo_list_microservice.model.entity.TodoListEntity;
+import co.edu.emarrugo.todo_list_microservice.model.repository.ChangeFeed;
 import co.edu.emarrugo.todo_list_microservice.model.repository.TaskRepository;
 import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.TodoListStatsRepository;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryChangeFeed;
+import co.edu.emarrugo.todo_list_microservice.model.repository.memory.InMemoryTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TodoListServiceTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private TodoListRepository todoListRepository;
 
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TodoListStatsRepository todoListStatsRepository;
+
+    @Spy
+    private ChangeFeed changeFeed = new InMemoryChangeFeed();
+
+    @Spy
+    private EntityCache<TodoListEntity> todoListCache = EntityCache.disabled("todoLists");
+
+    @Spy
+    private EntityCache<TaskEntity> taskCache = EntityCache.disabled("tasks");
+
+    @Spy
+    private BatchLoader<TodoListEntity> todoListLoader = BatchLoader.disabled(id -> todoListRepository.findById(id));
+
+    @Spy
+    private BatchLoader<TaskEntity> taskLoader = BatchLoader.disabled(id -> taskRepository.findById(id));
+
+    @Spy
+    private ServiceMetrics serviceMetrics = new ServiceMetrics(meterRegistry);
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Spy
+    private TaskWriteBehind taskWriteBehind = new TaskWriteBehind(
+            new WriteBehindProperties(false, Duration.ofMillis(200), 500, 10000),
+            TransactionalOperator.create(new InMemoryTransactionManager()),
+            meterRegistry);
+
+    @Spy
+    private ResponseCache responseCache = ResponseCache.disabled();
+
     @InjectMocks
     private TodoListService todoListService;
 
@@ -108,8 +169,8 @@ class TodoListServiceTest {
     @DisplayName("TS-05: Actualizar lista de tareas existente")
     void itShouldUpdateTodoList() {
         // GIVEN
-        when(todoListRepository.findById(1)).thenReturn(Mono.just(todoListEntity));
-        when(todoListRepository.save(any(TodoListEntity.class))).thenReturn(Mono.just(todoListEntity));
+        when(todoListRepository.updateFields(1, TodoListPatch.builder().name("Lista de tareas").build()))
+                .thenReturn(Mono.just(todoListEntity));
 
         // WHEN
         Mono<TodoListEntity> result = todoListService.updateTodoList(1, todoListEntity);
@@ -118,28 +179,45 @@ class TodoListServiceTest {
         StepVerifier.create(result)
                 .expectNext(todoListEntity)
                 .verifyComplete();
-        verify(todoListRepository, times(1)).findById(1);
-        verify(todoListRepository, times(1)).save(any(TodoListEntity.class));
+        verify(todoListRepository, never()).findById(anyInt());
+        verify(todoListRepository, never()).save(any(TodoListEntity.class));
     }
 
     @Test
     @DisplayName("TS-05: Eliminar lista de tareas existente")
     void itShouldDeleteTodoList() {
         // GIVEN
-        List<TaskEntity> tasks = Arrays.asList(taskEntity);
-        when(taskRepository.findAllByTodoListId(1)).thenReturn(Flux.fromIterable(tasks));
-        when(taskRepository.delete(any(TaskEntity.class))).thenReturn(Mono.empty());
-        when(todoListRepository.deleteById(1)).thenReturn(Mono.empty());
+        when(taskRepository.deleteAllByTodoListId(1)).thenReturn(Mono.just(3L));
+        when(todoListRepository.deleteAndCountById(1)).thenReturn(Mono.just(1L));
+        when(todoListStatsRepository.deleteByTodoListId(1)).thenReturn(Mono.empty());
 
         // WHEN
-        Mono<Void> result = todoListService.deleteTodoList(1);
+        Mono<DeleteResult> result = todoListService.deleteTodoList(1);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(new DeleteResult(1, 3))
+                .verifyComplete();
+        verify(todoListStatsRepository, times(1)).deleteByTodoListId(1);
+        verify(taskRepository, times(1)).deleteAllByTodoListId(1);
+        verify(taskRepository, never()).delete(any(TaskEntity.class));
+        verify(todoListRepository, times(1)).deleteAndCountById(1);
+        verify(changeFeed, times(1)).publish(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, 1, null));
+    }
+
+    @Test
+    @DisplayName("TS-13: Eliminar lista de tareas inexistente")
+    void itShouldReturnEmptyWhenDeletingMissingTodoList() {
+        // GIVEN
+        when(taskRepository.deleteAllByTodoListId(1)).thenReturn(Mono.just(0L));
+        when(todoListRepository.deleteAndCountById(1)).thenReturn(Mono.just(0L));
+
+        // WHEN
+        Mono<DeleteResult> result = todoListService.deleteTodoList(1);
 
         // THEN
         StepVerifier.create(result)
                 .verifyComplete();
-        verify(taskRepository, times(1)).findAllByTodoListId(1);
-        verify(taskRepository, times(1)).delete(any(TaskEntity.class));
-        verify(todoListRepository, times(1)).deleteById(1);
     }
 
     @Test
@@ -180,6 +258,7 @@ class TodoListServiceTest {
     void itShouldCreateTask() {
         // GIVEN
         when(taskRepository.save(any(TaskEntity.class))).thenReturn(Mono.just(taskEntity));
+        when(todoListStatsRepository.applyDelta(1, 1, 0)).thenReturn(Mono.empty());
 
         // WHEN
         Mono<TaskEntity> result = todoListService.createTask(taskEntity);
@@ -189,6 +268,7 @@ class TodoListServiceTest {
                 .expectNext(taskEntity)
                 .verifyComplete();
         verify(taskRepository, times(1)).save(any(TaskEntity.class));
+        verify(todoListStatsRepository, times(1)).applyDelta(1, 1, 0);
     }
     @Test
     @DisplayName("TS-09: Actualizar tarea existente")
@@ -203,8 +283,8 @@ class TodoListServiceTest {
                 .todoListId(1)
                 .build();
 
-        when(taskRepository.findById(1)).thenReturn(Mono.just(taskEntity));
-        when(taskRepository.save(any(TaskEntity.class))).thenReturn(Mono.just(updatedTask));
+        when(taskRepository.replace(1, updatedTask)).thenReturn(Mono.just(new TaskUpdate(false, updatedTask)));
+        when(todoListStatsRepository.applyDelta(1, 0, 1)).thenReturn(Mono.empty());
 
         // WHEN
         Mono<TaskEntity> result = todoListService.updateTask(1, updatedTask);
@@ -213,15 +293,19 @@ class TodoListServiceTest {
         StepVerifier.create(result)
                 .expectNext(updatedTask)
                 .verifyComplete();
-        verify(taskRepository, times(1)).findById(1);
-        verify(taskRepository, times(1)).save(any(TaskEntity.class));
+        verify(taskRepository, never()).findById(anyInt());
+        verify(taskRepository, never()).findByIdForUpdate(anyInt());
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+        verify(todoListStatsRepository, times(1)).applyDelta(1, 0, 1);
     }
 
     @Test
     @DisplayName("TS-10: Eliminar tarea existente")
     void itShouldDeleteTask() {
         // GIVEN
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Mono.just(taskEntity));
         when(taskRepository.deleteById(1)).thenReturn(Mono.empty());
+        when(todoListStatsRepository.applyDelta(1, -1, 0)).thenReturn(Mono.empty());
 
         // WHEN
         Mono<Void> result = todoListService.deleteTask(1);
@@ -230,6 +314,7 @@ class TodoListServiceTest {
         StepVerifier.create(result)
                 .verifyComplete();
         verify(taskRepository, times(1)).deleteById(1);
+        verify(todoListStatsRepository, times(1)).applyDelta(1, -1, 0);
     }
 
     @Test
@@ -243,8 +328,7 @@ class TodoListServiceTest {
                 .tasks(tasks)
                 .build();
 
-        when(todoListRepository.findById(1)).thenReturn(Mono.just(todoListEntity));
-        when(taskRepository.findAllByTodoListId(1)).thenReturn(Flux.fromIterable(tasks));
+        when(todoListRepository.findWithTasksById(1)).thenReturn(Mono.just(todoListWithTasks));
 
         // WHEN
         Mono<TodoListEntity> result = todoListService.getTodoListWithTasks(1);
@@ -257,7 +341,439 @@ class TodoListServiceTest {
                                 todoList.getTasks().get(0).getId().equals(1)
                 )
                 .verifyComplete();
-        verify(todoListRepository, times(1)).findById(1);
-        verify(taskRepository, times(1)).findAllByTodoListId(1);
+        verify(todoListRepository, times(1)).findWithTasksById(1);
+        verify(taskRepository, never()).findAllByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TS-12: Obtener lista con tareas inexistente")
+    void itShouldReturnEmptyWhenTodoListWithTasksNotExists() {
+        // GIVEN
+        when(todoListRepository.findWithTasksById(1)).thenReturn(Mono.empty());
+
+        // WHEN
+        Mono<TodoListEntity> result = todoListService.getTodoListWithTasks(1);
+
+        // THEN
+        StepVerifier.create(result)
+                .verifyComplete();
+        verify(todoListRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("TS-14: Obtener página de listas con cursor siguiente")
+    void itShouldGetTodoListsPageWithNextCursor() {
+        // GIVEN
+        TodoListEntity second = TodoListEntity.builder().id(2).name("Otra lista").build();
+        when(todoListRepository.findPage(0, 2)).thenReturn(Flux.just(todoListEntity, second));
+
+        // WHEN
+        Mono<KeysetPage<TodoListEntity>> result = todoListService.getTodoListsPage(0, 1);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNextMatches(page ->
+                        page.items().equals(List.of(todoListEntity)) &&
+                                page.nextCursor().equals(1))
+                .verifyComplete();
+        verify(todoListRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("TS-15: Obtener última página de tareas sin cursor siguiente")
+    void itShouldGetLastTasksPageWithoutNextCursor() {
+        // GIVEN
+        when(taskRepository.findPageByTodoListId(1, 0, 11)).thenReturn(Flux.just(taskEntity));
+
+        // WHEN
+        Mono<KeysetPage<TaskEntity>> result = todoListService.getTasksPageByTodoListId(1, 0, 10);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNextMatches(page ->
+                        page.items().equals(List.of(taskEntity)) &&
+                                page.nextCursor() == null)
+                .verifyComplete();
+        verify(taskRepository, never()).findAllByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TS-16: Crear tareas en bloque y sumar a los contadores de cada lista")
+    void itShouldCreateTasksInBatch() {
+        // GIVEN
+        TaskEntity completedTask = TaskEntity.builder().name("Tarea 2").completed(true).todoListId(1).build();
+        TaskEntity otherListTask = TaskEntity.builder().name("Tarea 3").todoListId(2).build();
+        Flux<TaskEntity> tasks = Flux.just(taskEntity, completedTask, otherListTask);
+        // El repositorio consume el flujo como lo haría el INSERT por bloques
+        AtomicInteger nextId = new AtomicInteger(7);
+        when(taskRepository.insertAll(any())).thenAnswer(invocation ->
+                invocation.<Flux<TaskEntity>>getArgument(0).map(task -> nextId.getAndIncrement()));
+        when(todoListStatsRepository.applyDelta(1, 2, 1)).thenReturn(Mono.empty());
+        when(todoListStatsRepository.applyDelta(2, 1, 0)).thenReturn(Mono.empty());
+
+        // WHEN
+        Flux<Integer> result = todoListService.createTasks(tasks);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(7, 8, 9)
+                .verifyComplete();
+        verify(todoListStatsRepository, times(1)).applyDelta(1, 2, 1);
+        verify(todoListStatsRepository, times(1)).applyDelta(2, 1, 0);
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    @DisplayName("TS-17: Actualizar parcialmente una tarea")
+    void itShouldPatchTask() {
+        // GIVEN
+        TaskPatch patch = TaskPatch.builder().completed(true).build();
+        taskEntity.setCompleted(true);
+        when(taskRepository.updateFields(1, patch)).thenReturn(Mono.just(new TaskUpdate(false, taskEntity)));
+        when(todoListStatsRepository.applyDelta(1, 0, 1)).thenReturn(Mono.empty());
+
+        // WHEN
+        Mono<TaskEntity> result = todoListService.patchTask(1, patch);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNextMatches(TaskEntity::isCompleted)
+                .verifyComplete();
+        verify(taskRepository, times(1)).updateFields(1, patch);
+        verify(taskRepository, never()).findByIdForUpdate(anyInt());
+        verify(todoListStatsRepository, times(1)).applyDelta(1, 0, 1);
+    }
+
+    @Test
+    @DisplayName("TS-18: Invalidar caché de tarea al eliminarla")
+    void itShouldEvictTaskFromCacheOnDelete() {
+        // GIVEN
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Mono.just(taskEntity));
+        when(taskRepository.deleteById(1)).thenReturn(Mono.empty());
+        when(todoListStatsRepository.applyDelta(1, -1, 0)).thenReturn(Mono.empty());
+
+        // WHEN
+        Mono<Void> result = todoListService.deleteTask(1);
+
+        // THEN
+        StepVerifier.create(result)
+                .verifyComplete();
+        verify(taskCache, times(1)).invalidate(1);
+    }
+
+    @Test
+    @DisplayName("TS-19: Registrar tiempo por método del servicio")
+    void itShouldTimeServiceMethods() {
+        // GIVEN
+        when(taskRepository.findById(1)).thenReturn(Mono.just(taskEntity));
+
+        // WHEN
+        StepVerifier.create(todoListService.getTaskById(1))
+                .expectNext(taskEntity)
+                .verifyComplete();
+
+        // THEN
+        assertEquals(1, meterRegistry.get(ServiceMetrics.TIMER_NAME)
+                .tag("method", "getTaskById")
+                .tag("outcome", "success")
+                .timer()
+                .count());
+    }
+
+    @Test
+    @DisplayName("TS-20: Compartir una única consulta entre lecturas concurrentes idénticas")
+    void itShouldCoalesceConcurrentIdenticalReads() {
+        // GIVEN
+        Sinks.One<TodoListEntity> pending = Sinks.one();
+        when(todoListRepository.findWithTasksById(1)).thenReturn(pending.asMono());
+
+        // WHEN
+        StepVerifier first = StepVerifier.create(todoListService.getTodoListWithTasks(1))
+                .expectNext(todoListEntity)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(todoListService.getTodoListWithTasks(1))
+                .expectNext(todoListEntity)
+                .expectComplete()
+                .verifyLater();
+        pending.tryEmitValue(todoListEntity);
+
+        // THEN
+        first.verify();
+        second.verify();
+        verify(todoListRepository, times(1)).findWithTasksById(1);
+        assertEquals(1, meterRegistry.get(SingleFlight.COUNTER_NAME)
+                .tag("operation", "getTodoListWithTasks")
+                .tag("result", "coalesced")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("TS-21: Ordenar la lectura múltiple según los ids pedidos e informar los que faltan")
+    void itShouldGetTasksByIdsInRequestOrder() {
+        // GIVEN
+        TaskEntity secondTask = TaskEntity.builder()
+                .id(2)
+                .name("Tarea 2")
+                .todoListId(1)
+                .build();
+        when(taskRepository.findByIds(new Integer[]{2, 9, 1})).thenReturn(Flux.just(taskEntity, secondTask));
+
+        // WHEN
+        Mono<MultiGetResult<TaskEntity>> result = todoListService.getTasksByIds(List.of(2, 9, 1));
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(new MultiGetResult<>(List.of(secondTask, taskEntity), List.of(9)))
+                .verifyComplete();
+        verify(taskRepository, times(1)).findByIds(new Integer[]{2, 9, 1});
+    }
+
+    @Test
+    @DisplayName("TS-22: No tocar las estadísticas si la actualización no cambia el estado de la tarea")
+    void itShouldNotCountUnchangedCompletion() {
+        // GIVEN
+        TaskPatch patch = TaskPatch.builder().name("Tarea renombrada").build();
+        when(taskRepository.updateFields(1, patch))
+                .thenReturn(Mono.just(new TaskUpdate(taskEntity.isCompleted(), taskEntity)));
+
+        // WHEN
+        Mono<TaskEntity> result = todoListService.patchTask(1, patch);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(taskEntity)
+                .verifyComplete();
+        verify(todoListStatsRepository, never()).applyDelta(anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("TS-23: Publicar el alta de una tarea en el canal de cambios de su lista")
+    void itShouldPublishTaskChanges() {
+        // GIVEN
+        when(taskRepository.save(any(TaskEntity.class))).thenReturn(Mono.just(taskEntity));
+        when(todoListStatsRepository.applyDelta(1, 1, 0)).thenReturn(Mono.empty());
+        StepVerifier changes = StepVerifier.create(todoListService.getTaskChanges(1).take(1))
+                .expectNext(new TaskChangeEvent(TaskChangeEvent.Type.CREATED, 1, 1))
+                .expectComplete()
+                .verifyLater();
+
+        // WHEN
+        StepVerifier.create(todoListService.createTask(taskEntity))
+                .expectNext(taskEntity)
+                .verifyComplete();
+
+        // THEN
+        changes.verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("TS-24: Confirmar la actualización diferida, leerla antes del vaciado y contarla al vaciar")
+    void itShouldBufferTaskUpdatesUntilFlush() {
+        // GIVEN
+        todoListService.registerWriteBehindFlusher();
+        TaskEntity completedTask = TaskEntity.builder()
+                .id(1)
+                .name("Tarea 1")
+                .description("Descripción de la tarea")
+                .completed(true)
+                .deadline(taskEntity.getDeadline())
+                .todoListId(1)
+                .build();
+        when(taskRepository.findById(1)).thenReturn(Mono.just(taskEntity));
+        when(taskRepository.replaceAll(List.of(completedTask)))
+                .thenReturn(Flux.just(new TaskUpdate(false, completedTask)));
+        when(todoListStatsRepository.applyDelta(1, 0, 1)).thenReturn(Mono.empty());
+
+        // WHEN
+        StepVerifier.create(todoListService.bufferTaskUpdate(1, completedTask))
+                .expectNext(completedTask)
+                .verifyComplete();
+        StepVerifier.create(todoListService.getTaskById(1))
+                .expectNext(completedTask)
+                .verifyComplete();
+        StepVerifier.create(taskWriteBehind.flush())
+                .verifyComplete();
+
+        // THEN
+        verify(taskRepository, times(1)).findById(1);
+        verify(taskRepository, never()).replace(anyInt(), any(TaskEntity.class));
+        verify(todoListStatsRepository, times(1)).applyDelta(1, 0, 1);
+        assertEquals(Optional.empty(), taskWriteBehind.pending(1));
+    }
+
+    @Test
+    @DisplayName("TS-25: Invalidar las respuestas en caché de la tarea y de su lista al actualizarla")
+    void itShouldInvalidateCachedResponsesOnTaskUpdate() {
+        // GIVEN
+        when(taskRepository.replace(1, taskEntity))
+                .thenReturn(Mono.just(new TaskUpdate(taskEntity.isCompleted(), taskEntity)));
+
+        // WHEN
+        StepVerifier.create(todoListService.updateTask(1, taskEntity))
+                .expectNext(taskEntity)
+                .verifyComplete();
+
+        // THEN
+        verify(responseCache, times(1)).invalidate(ResponseCache.Resource.TASK, 1);
+        verify(responseCache, times(1)).invalidate(ResponseCache.Resource.TODO_LIST_WITH_TASKS, 1);
+    }
+
+    @Test
+    @DisplayName("TS-26: Delegar los filtros de tareas en una única consulta del repositorio")
+    void itShouldPushTaskFiltersToRepository() {
+        // GIVEN
+        TaskQuery query = new TaskQuery(true, null, null, null, TaskQuery.Sort.NAME);
+        when(taskRepository.findByTodoListId(1, query, null, null)).thenReturn(Flux.just(taskEntity));
+
+        // WHEN
+        Flux<TaskEntity> result = todoListService.getTasksByTodoListId(1, query);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(taskEntity)
+                .verifyComplete();
+        verify(taskRepository, never()).findAllByTodoListId(anyInt());
+    }
+
+    @Test
+    @DisplayName("TS-27: Paginar la búsqueda de tareas por posición y propagar si se recortaron los candidatos")
+    void itShouldSearchTasksByPosition() {
+        // GIVEN
+        TaskEntity secondTask = TaskEntity.builder().id(2).name("Tarea 2").todoListId(1).build();
+        when(taskRepository.search("tarea", 10, 2))
+                .thenReturn(Mono.just(new TaskSearchResult(List.of(taskEntity, secondTask), true)));
+
+        // WHEN
+        Mono<KeysetPage<TaskEntity>> result = todoListService.searchTasks("tarea", 10, 1);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(new KeysetPage<>(List.of(taskEntity), 11, true))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TS-28: Un PATCH que falla no escribe ni pierde las actualizaciones diferidas de otras tareas")
+    void itShouldKeepBufferedUpdatesWhenPatchRollsBack() {
+        // GIVEN
+        todoListService.registerWriteBehindFlusher();
+        TaskEntity bufferedTask = TaskEntity.builder().id(2).name("Tarea 2").todoListId(1).build();
+        TaskPatch patch = TaskPatch.builder().name("Nuevo nombre").build();
+        StepVerifier.create(taskWriteBehind.submit(bufferedTask)).verifyComplete();
+        when(taskRepository.updateFields(1, patch)).thenReturn(Mono.error(new IllegalStateException("rollback")));
+
+        // WHEN
+        StepVerifier.create(todoListService.patchTask(1, patch))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // THEN
+        verify(taskRepository, never()).replaceAll(any());
+        assertEquals(Optional.of(bufferedTask), taskWriteBehind.pending(2));
+    }
+
+    @Test
+    @DisplayName("TS-29: Aplicar el PATCH de una tarea con escritura diferida pendiente sobre el búfer")
+    void itShouldPatchBufferedTaskInPlace() {
+        // GIVEN
+        TaskEntity bufferedTask = TaskEntity.builder().id(1).name("Tarea 1").description("Pendiente").todoListId(1).build();
+        StepVerifier.create(taskWriteBehind.submit(bufferedTask)).verifyComplete();
+        TaskEntity patchedTask = TaskEntity.builder().id(1).name("Tarea 1").description("Pendiente")
+                .completed(true).todoListId(1).build();
+
+        // WHEN
+        StepVerifier.create(todoListService.patchTask(1, TaskPatch.builder().completed(true).build()))
+                .expectNext(patchedTask)
+                .verifyComplete();
+
+        // THEN
+        verify(taskRepository, never()).findByIdForUpdate(anyInt());
+        verify(taskRepository, never()).updateFields(anyInt(), any());
+        assertEquals(Optional.of(patchedTask), taskWriteBehind.pending(1));
+    }
+
+    @Test
+    @DisplayName("TS-30: Un suscriptor lento de cambios descarta los más antiguos y recibe RESYNC sin frenar a los demás")
+    void itShouldNotLetSlowChangeSubscribersThrottleOthers() {
+        // GIVEN
+        int published = 1000;
+        List<TaskChangeEvent> received = new ArrayList<>();
+        StepVerifier fast = StepVerifier.create(todoListService.getTaskChanges(1).take(published))
+                .expectNextCount(published)
+                .expectComplete()
+                .verifyLater();
+
+        // WHEN
+        StepVerifier.create(todoListService.getTaskChanges(1)
+                                .takeUntil(event -> Integer.valueOf(published).equals(event.taskId())), 0)
+                .then(() -> {
+                    for (int taskId = 1; taskId <= published; taskId++) {
+                        changeFeed.publish(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, 1, taskId)).block();
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .recordWith(() -> received)
+                .thenConsumeWhile(event -> true)
+                .verifyComplete();
+
+        // THEN
+        fast.verify(Duration.ofSeconds(1));
+        assertTrue(received.contains(TaskChangeEvent.resync(1)));
+        assertTrue(received.size() < published);
+    }
+
+    @Test
+    @DisplayName("TS-31: Reenviar a cada lista el RESYNC global que sigue a una reconexión del canal")
+    void itShouldForwardGlobalResyncToEveryList() {
+        // GIVEN
+        StepVerifier changes = StepVerifier.create(todoListService.getTaskChanges(2).take(1))
+                .expectNext(TaskChangeEvent.resync(2))
+                .expectComplete()
+                .verifyLater();
+
+        // WHEN
+        changeFeed.publish(TaskChangeEvent.resync(null)).block();
+
+        // THEN
+        changes.verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("TS-32: Obtener las estadísticas de las listas paginadas por id")
+    void itShouldGetTodoListStatsPage() {
+        // GIVEN
+        TodoListStats first = new TodoListStats(1, "Lista de tareas", 3, 1, 0, null);
+        TodoListStats second = new TodoListStats(2, "Otra lista", 0, 0, 0, null);
+        when(todoListStatsRepository.findPage(eq(0), eq(2), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(first, second));
+
+        // WHEN
+        Mono<KeysetPage<TodoListStats>> result = todoListService.getTodoListStatsPage(0, 1);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNextMatches(page ->
+                        page.items().equals(List.of(first)) &&
+                                page.nextCursor().equals(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("TS-33: Transmitir las tareas filtradas con la consulta por cursor del repositorio")
+    void itShouldStreamFilteredTasks() {
+        // GIVEN
+        TaskQuery query = new TaskQuery(false, null, null, null, TaskQuery.Sort.ID);
+        when(taskRepository.streamByTodoListId(1, query)).thenReturn(Flux.just(taskEntity));
+
+        // WHEN
+        Flux<TaskEntity> result = todoListService.streamTasksByTodoListId(1, query);
+
+        // THEN
+        StepVerifier.create(result)
+                .expectNext(taskEntity)
+                .verifyComplete();
+        verify(taskRepository, never()).findByTodoListId(1, query, null, null);
     }
-}
\ No newline at end of file
+}